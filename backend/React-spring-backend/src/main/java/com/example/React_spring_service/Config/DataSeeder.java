@@ -1,7 +1,6 @@
 package com.example.React_spring_service.Config;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -10,7 +9,6 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.example.React_spring_service.Entities.CoinTransaction;
 import com.example.React_spring_service.Entities.Comment;
 import com.example.React_spring_service.Entities.CommunityPost;
 import com.example.React_spring_service.Entities.Game;
@@ -20,13 +18,16 @@ import com.example.React_spring_service.Entities.User;
 import com.example.React_spring_service.Enum.PostType;
 import com.example.React_spring_service.Enum.RewardCategory;
 import com.example.React_spring_service.Enum.UserLevel;
-import com.example.React_spring_service.Repositories.CoinTransactionRepository;
 import com.example.React_spring_service.Repositories.CommentRepository;
 import com.example.React_spring_service.Repositories.CommunityPostRepository;
 import com.example.React_spring_service.Repositories.GameRepository;
 import com.example.React_spring_service.Repositories.ReviewRepository;
 import com.example.React_spring_service.Repositories.RewardRepository;
+import com.example.React_spring_service.Repositories.UserLibraryRepository;
 import com.example.React_spring_service.Repositories.UserRepository;
+import com.example.React_spring_service.Services.CoinService;
+import com.example.React_spring_service.Services.FriendGraphService;
+import com.example.React_spring_service.Services.NotificationService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -39,8 +40,11 @@ public class DataSeeder implements CommandLineRunner {
         private final RewardRepository rewardRepository;
         private final CommunityPostRepository postRepository;
         private final CommentRepository commentRepository;
-        private final CoinTransactionRepository transactionRepository;
+        private final CoinService coinService;
         private final ReviewRepository reviewRepository;
+        private final UserLibraryRepository libraryRepository;
+        private final NotificationService notificationService;
+        private final FriendGraphService friendGraph;
 
         @Override
         @Transactional
@@ -79,19 +83,15 @@ public class DataSeeder implements CommandLineRunner {
                                 .level(UserLevel.USER)
                                 .canSell(false)
                                 .friends(new HashSet<>())
-                                .gamesInLibrary(new ArrayList<>(List.of(1L)))
-                                .notifications(List.of(Map.of("title", "Welcome to P3!", "read", false)))
                                 .build();
 
                 // PERSIST users first to generate IDs before creating relationships
                 userRepository.saveAll(List.of(dev, player));
 
-                // Create friendship between dev and player
-                dev.getFriends().add(player);
-                player.getFriends().add(dev);
+                notificationService.add(player.getId(), Map.of("title", "Welcome to P3!"));
 
-                // Save again to update the join table
-                userRepository.saveAll(List.of(dev, player));
+                // Create friendship between dev and player (both directions)
+                friendGraph.connect(dev.getId(), player.getId());
 
                 // 3. Create a Game
                 Game webGame = Game.builder()
@@ -105,6 +105,7 @@ public class DataSeeder implements CommandLineRunner {
                                 .rewards(List.of(Map.of("id", 1, "title", "Neon Skin", "cost", 100)))
                                 .build();
                 gameRepository.save(webGame);
+                libraryRepository.add(player.getId(), webGame.getId());
 
                 // 4. Create a Review
                 Review review = Review.builder()
@@ -116,13 +117,8 @@ public class DataSeeder implements CommandLineRunner {
                                 .build();
                 reviewRepository.save(review);
 
-                // 5. Create Coin Transactions
-                CoinTransaction tx1 = CoinTransaction.builder()
-                                .user(player)
-                                .amount(1000L)
-                                .reason("SIGNUP_BONUS")
-                                .build();
-                transactionRepository.save(tx1);
+                // 5. Create Coin Transactions (goes through CoinService so the balance ledger stays in sync)
+                coinService.recordTransaction(player, 1000L, "SIGNUP_BONUS");
 
                 // 6. Create Community Content
                 CommunityPost post = CommunityPost.builder()
@@ -0,0 +1,33 @@
+package com.example.React_spring_service.Config;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.React_spring_service.Repositories.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Friendships used to be one-directional rows in user_friends, while FriendGraphService
+ * reads each user's own rows only. Inserts the reverse row of every edge that lacks one,
+ * in a single statement; after the first run there is nothing left to insert.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FriendshipMigrator {
+
+    private final UserRepository userRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrate() {
+        int added = userRepository.symmetrizeFriendships();
+        if (added > 0) {
+            log.info("Added " + added + " reverse friendship rows to make user_friends symmetric");
+        }
+    }
+}
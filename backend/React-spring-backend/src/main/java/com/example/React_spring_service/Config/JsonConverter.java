@@ -1,41 +1,17 @@
 package com.example.React_spring_service.Config;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
-import java.io.IOException;
 
+/**
+ * Untyped fallback: reads into whatever Jackson makes of the JSON (maps, lists, numbers).
+ * Prefer one of the typed converters for a field with a known shape.
+ */
 @Converter(autoApply = false)
-public class JsonConverter implements AttributeConverter<Object, String> {
+public class JsonConverter extends TypedJsonConverter<Object> {
 
-    private final ObjectMapper mapper = new ObjectMapper();
-
-    @Override
-    public String convertToDatabaseColumn(Object attribute) {
-        if (attribute == null) {
-            return null;
-        }
-        try {
-            return mapper.writeValueAsString(attribute);
-        } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException("Error converting list to JSON string", e);
-        }
-    }
-
-    @Override
-    public Object convertToEntityAttribute(String dbData) {
-        if (dbData == null || dbData.isEmpty()) {
-            return null;
-        }
-        try {
-            // This tells Jackson to parse the string into a List of Objects/Maps/Longs
-            // instead of just a raw Object
-            return mapper.readValue(dbData, new TypeReference<Object>() {
-            });
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Error converting JSON string to list", e);
-        }
+    public JsonConverter() {
+        super(new TypeReference<Object>() {
+        });
     }
-}
\ No newline at end of file
+}
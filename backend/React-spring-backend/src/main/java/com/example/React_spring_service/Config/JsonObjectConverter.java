@@ -0,0 +1,18 @@
+package com.example.React_spring_service.Config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.persistence.Converter;
+
+import java.util.Map;
+
+/**
+ * A single free-form JSON object, e.g. a notification payload
+ */
+@Converter(autoApply = false)
+public class JsonObjectConverter extends TypedJsonConverter<Map<String, Object>> {
+
+    public JsonObjectConverter() {
+        super(new TypeReference<Map<String, Object>>() {
+        });
+    }
+}
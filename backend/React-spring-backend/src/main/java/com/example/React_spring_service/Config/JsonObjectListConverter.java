@@ -0,0 +1,19 @@
+package com.example.React_spring_service.Config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSON array of free-form objects, e.g. game rewards
+ */
+@Converter(autoApply = false)
+public class JsonObjectListConverter extends TypedJsonConverter<List<Map<String, Object>>> {
+
+    public JsonObjectListConverter() {
+        super(new TypeReference<List<Map<String, Object>>>() {
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.React_spring_service.Config;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The JSON columns used to be TEXT, so every tag query had to parse each row.
+ * Converts any that still are to jsonb (empty strings become NULL) and creates the
+ * GIN indexes behind the tag containment queries, which JPA cannot declare.
+ * Ordered first so the migrators after it already write jsonb. Columns that are
+ * already jsonb are left alone, and the indexes are created IF NOT EXISTS.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JsonbMigrator {
+
+    private static final List<String[]> JSON_COLUMNS = List.of(
+            new String[] { "games", "tags" },
+            new String[] { "games", "developer_logs" },
+            new String[] { "games", "rewards" },
+            new String[] { "community_posts", "tags" },
+            new String[] { "community_posts", "attachments" },
+            new String[] { "notifications", "payload" });
+
+    // jsonb_path_ops only serves @>, but is smaller and faster than the default operator class
+    private static final List<String> GIN_INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_games_tags ON games USING GIN (tags jsonb_path_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_community_posts_tags ON community_posts USING GIN (tags jsonb_path_ops)");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void migrate() {
+        for (String[] column : JSON_COLUMNS) {
+            String table = column[0];
+            String name = column[1];
+            List<String> types = jdbcTemplate.queryForList("SELECT data_type FROM information_schema.columns "
+                    + "WHERE table_name = ? AND column_name = ?", String.class, table, name);
+            if (types.isEmpty() || types.get(0).equals("jsonb")) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + name + " TYPE jsonb USING CAST(NULLIF("
+                    + name + ", '') AS jsonb)");
+            log.info("Converted " + table + "." + name + " from " + types.get(0) + " to jsonb");
+        }
+        GIN_INDEXES.forEach(jdbcTemplate::execute);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.React_spring_service.Config;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.React_spring_service.Repositories.UserLibraryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves libraries stored in the old users.games_in_library JSON column into
+ * the user_library table, keeping each user's order. Entries already in the
+ * table are skipped and the column is blanked after the copy, so on a migrated
+ * database the only work left is the information_schema check.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LibraryMigrator {
+
+    private final UserLibraryRepository libraryRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrate() {
+        if (!libraryRepository.hasLegacyLibraryColumn()) {
+            return;
+        }
+        int copied = libraryRepository.migrateLegacyLibraries();
+        int users = libraryRepository.clearLegacyLibraries();
+        if (users > 0) {
+            log.info("Migrated " + copied + " library entries from " + users + " users' games_in_library column");
+        }
+    }
+}
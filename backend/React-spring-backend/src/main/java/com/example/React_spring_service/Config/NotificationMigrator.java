@@ -0,0 +1,74 @@
+package com.example.React_spring_service.Config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.React_spring_service.Services.NotificationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves notifications stored in the old users.notifications JSON column into
+ * the notifications table, keeping their order and read flags. Each one goes
+ * through NotificationService.add, so unread counters come out right. A user
+ * whose column does not parse is logged and skipped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationMigrator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrate() {
+        Integer columns = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE table_name = 'users' AND column_name = 'notifications'", Integer.class);
+        if (columns == null || columns == 0) {
+            return;
+        }
+
+        record LegacyInbox(long userId, String json) {
+        }
+        List<LegacyInbox> rows = jdbcTemplate.query(
+                "SELECT id, notifications FROM users WHERE notifications IS NOT NULL AND notifications <> ''",
+                (rs, rowNum) -> new LegacyInbox(rs.getLong("id"), rs.getString("notifications")));
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        long added = 0;
+        for (LegacyInbox row : rows) {
+            List<Map<String, Object>> notifications;
+            try {
+                notifications = objectMapper.readValue(row.json(), new TypeReference<List<Map<String, Object>>>() {
+                });
+            } catch (JsonProcessingException e) {
+                log.warn("Skipping unreadable notifications of user " + row.userId() + ": " + e.getOriginalMessage());
+                continue;
+            }
+            for (Map<String, Object> notification : notifications) {
+                if (notification != null) {
+                    notificationService.add(row.userId(), notification);
+                    added++;
+                }
+            }
+        }
+        // Notifications are deleted from the table from now on; a copy left here would bring them back next start
+        jdbcTemplate.update("UPDATE users SET notifications = NULL WHERE notifications IS NOT NULL");
+        log.info("Migrated " + added + " notifications from " + rows.size() + " users' notifications column");
+    }
+}
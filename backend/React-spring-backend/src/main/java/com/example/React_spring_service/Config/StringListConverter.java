@@ -0,0 +1,18 @@
+package com.example.React_spring_service.Config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+/**
+ * A JSON array of strings, e.g. tags or attachment URLs
+ */
+@Converter(autoApply = false)
+public class StringListConverter extends TypedJsonConverter<List<String>> {
+
+    public StringListConverter() {
+        super(new TypeReference<List<String>>() {
+        });
+    }
+}
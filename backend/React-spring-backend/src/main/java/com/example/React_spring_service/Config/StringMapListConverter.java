@@ -0,0 +1,19 @@
+package com.example.React_spring_service.Config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSON array of objects with string values, e.g. developer logs
+ */
+@Converter(autoApply = false)
+public class StringMapListConverter extends TypedJsonConverter<List<Map<String, String>>> {
+
+    public StringMapListConverter() {
+        super(new TypeReference<List<Map<String, String>>>() {
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.React_spring_service.Config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Base for JSON-in-TEXT column converters bound to one declared field type.
+ *
+ * Every converter shares a single ObjectMapper, and each keeps an ObjectReader and
+ * ObjectWriter built once for its type. Both are immutable and thread-safe, and they
+ * carry the resolved (de)serializers with them, so a conversion never looks the type up
+ * again and reads straight into the declared collection and element types.
+ */
+public abstract class TypedJsonConverter<T> implements AttributeConverter<T, String> {
+
+    // Shared by every converter; only used through readers and writers derived from it
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    protected TypedJsonConverter(TypeReference<T> type) {
+        this.reader = MAPPER.readerFor(type);
+        this.writer = MAPPER.writerFor(type);
+    }
+
+    @Override
+    public String convertToDatabaseColumn(T attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        try {
+            return writer.writeValueAsString(attribute);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Error converting value to JSON string", e);
+        }
+    }
+
+    @Override
+    public T convertToEntityAttribute(String dbData) {
+        if (dbData == null || dbData.isEmpty()) {
+            return null;
+        }
+        try {
+            return reader.readValue(dbData);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Error converting JSON string to value", e);
+        }
+    }
+}
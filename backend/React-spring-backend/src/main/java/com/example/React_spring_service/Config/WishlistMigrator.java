@@ -0,0 +1,107 @@
+package com.example.React_spring_service.Config;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.React_spring_service.Services.WishlistService;
+import com.example.React_spring_service.Util.LongIdSet;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves wishlists stored in the old users.wishlist column (a JSON array of game
+ * IDs) into the wishlists table. Entries go through WishlistService,
+ * so game_wishlist_counts is updated with them and games that no longer exist
+ * are dropped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WishlistMigrator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WishlistService wishlistService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrate() {
+        Integer columns = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE table_name = 'users' AND column_name = 'wishlist'", Integer.class);
+        if (columns == null || columns == 0) {
+            return;
+        }
+
+        record LegacyWishlist(long userId, String ids) {
+        }
+        List<LegacyWishlist> rows = jdbcTemplate.query("SELECT id, wishlist FROM users WHERE wishlist IS NOT NULL",
+                (rs, rowNum) -> new LegacyWishlist(rs.getLong("id"), rs.getString("wishlist")));
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        long added = 0;
+        for (LegacyWishlist row : rows) {
+            added += wishlistService.addAll(row.userId(), parseIds(row.ids()).toList());
+        }
+        // Without this, every restart would re-add games the user has since taken off their wishlist
+        jdbcTemplate.update("UPDATE users SET wishlist = NULL WHERE wishlist IS NOT NULL");
+        log.info("Migrated " + added + " wishlist entries from " + rows.size() + " users' wishlist column");
+    }
+
+    /**
+     * The IDs of a legacy JSON array column: numbers, possibly quoted or written as 1.0,
+     * separated by commas. Read without Jackson; throws IllegalArgumentException for anything else.
+     */
+    static LongIdSet parseIds(String json) {
+        String data = json.strip();
+        if (data.isEmpty()) {
+            return new LongIdSet();
+        }
+        int end = data.lastIndexOf(']');
+        if (!data.startsWith("[") || end < 0) {
+            throw new IllegalArgumentException("Invalid JSON ID list: " + json);
+        }
+        long[] values = new long[8];
+        int count = 0;
+        int i = 1;
+        while (i < end) {
+            char c = data.charAt(i);
+            if (c == ',' || c == '"' || Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            boolean negative = c == '-';
+            if (negative) {
+                i++;
+            }
+            int start = i;
+            long value = 0;
+            while (i < end && Character.isDigit(data.charAt(i))) {
+                value = value * 10 + (data.charAt(i) - '0');
+                i++;
+            }
+            if (i == start) {
+                throw new IllegalArgumentException("Invalid JSON ID list: " + json);
+            }
+            // Skip a fractional part such as the ".0" in 12.0
+            if (i < end && data.charAt(i) == '.') {
+                i++;
+                while (i < end && Character.isDigit(data.charAt(i))) {
+                    i++;
+                }
+            }
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = negative ? -value : value;
+        }
+        return LongIdSet.of(Arrays.copyOf(values, count));
+    }
+}
@@ -3,6 +3,8 @@ package com.example.React_spring_service.Controller;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,12 +12,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.React_spring_service.DTO.CursorPage;
 import com.example.React_spring_service.Entities.CoinTransaction;
 import com.example.React_spring_service.Entities.User;
-import com.example.React_spring_service.Repositories.CoinTransactionRepository;
 import com.example.React_spring_service.Repositories.UserRepository;
+import com.example.React_spring_service.Services.CoinService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,16 +31,45 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CoinController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final UserRepository userRepository;
-    private final CoinTransactionRepository transactionRepository;
+    private final CoinService coinService;
+
+    @Value("${coins.bulk.max-items:10000}")
+    private int bulkMaxItems;
 
     @GetMapping("/{userId}/balance")
     public ResponseEntity<Long> getBalance(@PathVariable Long userId) {
         log.info("Fetching balance for user ID: " + userId);
-        List<CoinTransaction> txs = transactionRepository.findByUserIdOrderByTimestampDesc(userId);
-        long sum = txs.stream().mapToLong(t -> t.getAmount()).sum();
-        log.info("Balance for user ID " + userId + " is: " + sum);
-        return ResponseEntity.ok(sum);
+        long balance = coinService.getBalance(userId);
+        log.info("Balance for user ID " + userId + " is: " + balance);
+        return ResponseEntity.ok(balance);
+    }
+
+    /**
+     * GET /api/users/{userId}/transactions?cursor=...&limit=50
+     * Transaction history, newest first. The cursor for the next page is returned
+     * in the X-Next-Cursor header (absent on the last page).
+     */
+    @GetMapping("/{userId}/transactions")
+    public ResponseEntity<?> getTransactionHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("Fetching transaction history for user ID: " + userId);
+        CursorPage<CoinTransaction> page;
+        try {
+            page = coinService.getTransactionHistory(userId, cursor, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "invalid_cursor"));
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     public static class TransactionRequest {
@@ -59,29 +92,45 @@ public class CoinController {
             return ResponseEntity.badRequest().body(Map.of("error", "amount_required"));
         }
 
-        // Calculate current balance
-        List<CoinTransaction> txsBefore = transactionRepository.findByUserIdOrderByTimestampDesc(userId);
-        long currentBalance = txsBefore.stream().mapToLong(t -> t.getAmount()).sum();
-
-        // If this is a spend (negative amount), ensure sufficient funds
-        if (req.amount < 0 && (currentBalance + req.amount) < 0) {
-            return ResponseEntity.badRequest().body(Map.of("error", "insufficient_funds", "balance", currentBalance));
-        }
-
-        CoinTransaction tx = CoinTransaction.builder()
-                .amount(req.amount)
-                .reason(req.reason == null ? "MANUAL" : req.reason)
-                .user(user)
-                .build();
+        try {
+            CoinService.TransactionResult result = coinService.createTransaction(user, req.amount,
+                    req.reason == null ? "MANUAL" : req.reason);
 
-        CoinTransaction saved = transactionRepository.save(tx);
+            log.info("transaction = " + result.transaction() + ", balance = " + result.balance());
 
-        // return new balance
-        List<CoinTransaction> txs = transactionRepository.findByUserIdOrderByTimestampDesc(userId);
-        long sum = txs.stream().mapToLong(t -> t.getAmount()).sum();
-
-        log.info("transaction = " + saved + ", balance = " + sum);
+            return ResponseEntity.ok(Map.of("transaction", result.transaction(), "balance", result.balance()));
+        } catch (CoinService.InsufficientFundsException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "insufficient_funds", "balance", e.getBalance()));
+        }
+    }
 
-        return ResponseEntity.ok(Map.of("transaction", saved, "balance", sum));
+    /**
+     * POST /api/users/transactions/bulk
+     * Body: [{"userId": 1, "amount": 100, "reason": "GAME_REWARD"}, ...]
+     * Items are validated independently; the response reports the outcome of each one by index.
+     */
+    @PostMapping("/transactions/bulk")
+    public ResponseEntity<?> createTransactions(@RequestBody List<CoinService.BulkItem> items) {
+        if (items == null || items.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "transactions_required"));
+        }
+        if (items.size() > bulkMaxItems) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("error", "too_many_transactions", "max", bulkMaxItems));
+        }
+        log.info("Creating " + items.size() + " transactions in bulk");
+
+        try {
+            List<CoinService.BulkItemResult> results = coinService.createTransactions(items);
+            long accepted = results.stream().filter(r -> "ok".equals(r.status())).count();
+            log.info("Bulk transactions: " + accepted + " accepted, " + (results.size() - accepted) + " rejected");
+
+            return ResponseEntity.ok(Map.of(
+                    "accepted", accepted,
+                    "rejected", results.size() - accepted,
+                    "results", results));
+        } catch (CoinService.ConcurrentBalanceUpdateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "balance_conflict"));
+        }
     }
 }
@@ -1,19 +1,36 @@
 package com.example.React_spring_service.Controller;
 
+import com.example.React_spring_service.DTO.CursorPage;
+import com.example.React_spring_service.DTO.GameCardDTO;
+import com.example.React_spring_service.DTO.GameSearchResultDTO;
 import com.example.React_spring_service.Entities.Game;
+import com.example.React_spring_service.Entities.GameWishlistCount;
 import com.example.React_spring_service.Entities.Review;
 import com.example.React_spring_service.Entities.User;
+import com.example.React_spring_service.Enum.CatalogSort;
 import com.example.React_spring_service.Repositories.GameRepository;
 import com.example.React_spring_service.Repositories.ReviewRepository;
+import com.example.React_spring_service.Repositories.UserLibraryRepository;
 import com.example.React_spring_service.Repositories.UserRepository;
+import com.example.React_spring_service.Services.GameCatalogService;
+import com.example.React_spring_service.Services.GameCatalogService.CatalogFilter;
+import com.example.React_spring_service.Services.GameSearchIndex;
+import com.example.React_spring_service.Services.GameTagIndex;
+import com.example.React_spring_service.Services.WishlistService;
+import com.example.React_spring_service.Util.KeysetCursor;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,10 +44,21 @@ public class GameController {
     private final GameRepository gameRepository;
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
+    private final UserLibraryRepository userLibraryRepository;
+    private final WishlistService wishlistService;
+    private final GameTagIndex tagIndex;
+    private final GameSearchIndex searchIndex;
+    private final GameCatalogService catalogService;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_FACETS = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
 
     /**
      * GET /api/games
-     * Returns a list of all games
+     * Returns a list of all games, every column included. Listing pages should use
+     * /api/games/catalog, which pages through cards instead.
      */
     @GetMapping
     public ResponseEntity<List<Game>> getAllGames() {
@@ -39,6 +67,124 @@ public class GameController {
         return ResponseEntity.ok(games);
     }
 
+    /**
+     * GET /api/games/catalog?sort=RATING_DESC&onSale=true&minPrice=0&maxPrice=20&developer=&cursor=&limit=24
+     * One page of the storefront as game cards (no descriptions, logs or rewards), in sort
+     * order with optional filters. Pass the X-Next-Cursor header back as cursor for the
+     * next page (absent on the last page).
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<?> getCatalog(
+            @RequestParam(defaultValue = "RATING_DESC") CatalogSort sort,
+            @RequestParam(required = false) Boolean onSale,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String developer,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "24") int limit) {
+        log.info("getting catalog page sorted by " + sort);
+        CursorPage<GameCardDTO> page;
+        try {
+            page = catalogService.getCatalogPage(new CatalogFilter(onSale, minPrice, maxPrice, developer), sort, cursor,
+                    Math.clamp(limit, 1, MAX_CATALOG_PAGE_SIZE));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "invalid_cursor"));
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * GET /api/games/search?tags=action,co-op&anyTags=&excludeTags=&cursor=&limit=20&facets=10
+     * Games carrying every tag in tags, at least one of anyTags and none of excludeTags
+     * (all optional, case-insensitive), by ascending ID. Answered from the in-memory tag index;
+     * facets are the most common tags among all matches. Pass nextCursor back to get the next page.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchByTags(
+            @RequestParam(defaultValue = "") List<String> tags,
+            @RequestParam(defaultValue = "") List<String> anyTags,
+            @RequestParam(defaultValue = "") List<String> excludeTags,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "10") int facets) {
+        log.info("searching games by tags: " + tags + " any: " + anyTags + " excluding: " + excludeTags);
+        if (!tagIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+        }
+        long afterId;
+        try {
+            afterId = cursor == null ? -1 : Long.parseLong(KeysetCursor.decode(cursor, 1)[0]);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "invalid_cursor"));
+        }
+        int pageSize = Math.clamp(limit, 1, MAX_SEARCH_PAGE_SIZE);
+
+        // One extra ID tells whether another page follows
+        GameTagIndex.Result result = tagIndex.search(tags, anyTags, excludeTags, afterId, pageSize + 1,
+                Math.clamp(facets, 0, MAX_SEARCH_FACETS));
+        long[] ids = result.ids();
+        String nextCursor = null;
+        if (ids.length > pageSize) {
+            ids = Arrays.copyOf(ids, pageSize);
+            nextCursor = KeysetCursor.encode(ids[pageSize - 1]);
+        }
+        List<GameCardDTO> cards = ids.length == 0 ? List.of()
+                : gameRepository.findCardsByIdIn(Arrays.stream(ids).boxed().toList());
+        cards = cards.stream().sorted(Comparator.comparing(GameCardDTO::getId)).toList();
+
+        return ResponseEntity.ok(GameSearchResultDTO.builder()
+                .games(cards)
+                .total(result.total())
+                .facets(result.facets())
+                .nextCursor(nextCursor)
+                .build());
+    }
+
+    /**
+     * GET /api/games/search/text?q=space shooter&limit=20
+     * Games whose name, description, developer, publisher or tags contain every word of q
+     * (the last word may be partial), most relevant first, as cards
+     */
+    @GetMapping("/search/text")
+    public ResponseEntity<List<GameCardDTO>> searchText(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("searching games for: " + q);
+        if (!searchIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+        }
+        List<GameSearchIndex.Hit> hits = searchIndex.search(q, Math.clamp(limit, 1, MAX_SEARCH_PAGE_SIZE));
+        if (hits.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        Map<Long, GameCardDTO> cards = gameRepository.findCardsByIdIn(hits.stream().map(GameSearchIndex.Hit::gameId).toList())
+                .stream().collect(Collectors.toMap(GameCardDTO::getId, Function.identity()));
+        // Keep the ranking; skip a game deleted since it was matched
+        return ResponseEntity.ok(hits.stream()
+                .map(hit -> cards.get(hit.gameId()))
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /**
+     * GET /api/games/search/suggest?q=spce inv&limit=10
+     * Game names completing what has been typed so far, tolerating a typo or two in the last word
+     */
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<GameSearchIndex.Suggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (!searchIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+        }
+        return ResponseEntity.ok(searchIndex.suggest(q, Math.clamp(limit, 1, MAX_SUGGESTIONS)));
+    }
+
     /**
      * GET /api/games/{id}
      * Returns a single game by ID or 404 if not found
@@ -51,6 +197,42 @@ public class GameController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * GET /api/games/most-wishlisted?limit=10
+     * Returns game IDs with their wishlist counts, most wishlisted first
+     */
+    @GetMapping("/most-wishlisted")
+    public ResponseEntity<List<GameWishlistCount>> getMostWishlisted(@RequestParam(defaultValue = "10") int limit) {
+        log.info("getting most wishlisted games");
+        return ResponseEntity.ok(wishlistService.getMostWishlisted(Math.clamp(limit, 1, 100)));
+    }
+
+    /**
+     * GET /api/games/{id}/wishlist/count
+     * Returns how many users have the game on their wishlist
+     */
+    @GetMapping("/{id}/wishlist/count")
+    public ResponseEntity<Long> getWishlistCount(@PathVariable Long id) {
+        log.info("counting wishlists for game id: " + id);
+        if (!gameRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(wishlistService.getWishlistCount(id));
+    }
+
+    /**
+     * GET /api/games/{id}/owners/count
+     * Returns how many users have the game in their library
+     */
+    @GetMapping("/{id}/owners/count")
+    public ResponseEntity<Long> getOwnerCount(@PathVariable Long id) {
+        log.info("counting owners for game id: " + id);
+        if (!gameRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(userLibraryRepository.countByGameId(id));
+    }
+
     /**
      * GET /api/games/{id}/reviews
      * Returns all reviews for a specific game, ordered by creation date (newest
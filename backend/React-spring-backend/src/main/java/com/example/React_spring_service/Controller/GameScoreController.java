@@ -3,7 +3,9 @@ package com.example.React_spring_service.Controller;
 import com.example.React_spring_service.DTO.GameScoreDTO;
 import com.example.React_spring_service.DTO.LeaderboardEntryDTO;
 import com.example.React_spring_service.Entities.GameScore;
+import com.example.React_spring_service.Enum.LeaderboardWindow;
 import com.example.React_spring_service.Services.GameScoreService;
+import com.example.React_spring_service.Services.ScoreSubmissionQueue;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,15 +19,30 @@ import java.util.List;
 // @CrossOrigin(origins = "*")
 public class GameScoreController {
 
+    private static final int MAX_RADIUS = 50;
+
     private final GameScoreService gameScoreService;
+    private final ScoreSubmissionQueue scoreSubmissionQueue;
 
     /**
      * Submit a new game score
      * POST /api/game-scores
      * Body: {"userId": 1, "gameId": 1, "score": 1000, "level": 5}
+     * In write-behind mode the score is validated, queued and 202 Accepted is returned,
+     * or 503 with Retry-After when the queue is full. An unknown user or game is a 400 either way.
      */
     @PostMapping
     public ResponseEntity<GameScore> submitScore(@RequestBody GameScoreDTO scoreDTO) {
+        if (scoreSubmissionQueue.isEnabled()) {
+            if (scoreDTO.getUserId() == null || scoreDTO.getGameId() == null || scoreDTO.getScore() == null
+                    || !gameScoreService.canSubmit(scoreDTO)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            if (!scoreSubmissionQueue.offer(scoreDTO)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build();
+            }
+            return ResponseEntity.accepted().build();
+        }
         try {
             GameScore savedScore = gameScoreService.submitScore(scoreDTO);
             return new ResponseEntity<>(savedScore, HttpStatus.CREATED);
@@ -34,18 +51,67 @@ public class GameScoreController {
         }
     }
 
+    /**
+     * Write-behind queue depth, counters and flush latency
+     * GET /api/game-scores/pipeline/stats
+     */
+    @GetMapping("/pipeline/stats")
+    public ResponseEntity<ScoreSubmissionQueue.QueueStats> getPipelineStats() {
+        return ResponseEntity.ok(scoreSubmissionQueue.stats());
+    }
+
     /**
      * Get leaderboard for a specific game
-     * GET /api/game-scores/leaderboard/{gameId}?limit=10
+     * GET /api/game-scores/leaderboard/{gameId}?limit=10&window=ALL_TIME
+     * window is DAILY, WEEKLY or ALL_TIME
      */
     @GetMapping("/leaderboard/{gameId}")
     public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboard(
             @PathVariable Long gameId,
-            @RequestParam(defaultValue = "10") int limit) {
-        List<LeaderboardEntryDTO> leaderboard = gameScoreService.getLeaderboard(gameId, limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "ALL_TIME") LeaderboardWindow window) {
+        List<LeaderboardEntryDTO> leaderboard = gameScoreService.getLeaderboard(gameId, window, limit);
         return ResponseEntity.ok(leaderboard);
     }
 
+    /**
+     * Get a user's rank in a game, by their best score
+     * GET /api/game-scores/leaderboard/{gameId}/rank/{userId}?window=ALL_TIME
+     */
+    @GetMapping("/leaderboard/{gameId}/rank/{userId}")
+    public ResponseEntity<LeaderboardEntryDTO> getUserRank(
+            @PathVariable Long gameId,
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "ALL_TIME") LeaderboardWindow window) {
+        if (!gameScoreService.isLeaderboardReady()) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return gameScoreService.getUserRank(gameId, window, userId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the players ranked just above and below a user
+     * GET /api/game-scores/leaderboard/{gameId}/around/{userId}?radius=5&window=ALL_TIME
+     */
+    @GetMapping("/leaderboard/{gameId}/around/{userId}")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboardAround(
+            @PathVariable Long gameId,
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "5") int radius,
+            @RequestParam(defaultValue = "ALL_TIME") LeaderboardWindow window) {
+        if (!gameScoreService.isLeaderboardReady()) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        List<LeaderboardEntryDTO> entries = gameScoreService.getLeaderboardAround(gameId, window, userId,
+                Math.max(0, Math.min(radius, MAX_RADIUS)));
+        if (entries.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(entries);
+    }
+
     /**
      * Get user's best score for a game
      * GET /api/game-scores/user/{userId}/game/{gameId}/best
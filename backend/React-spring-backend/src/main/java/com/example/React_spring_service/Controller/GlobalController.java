@@ -1,15 +1,19 @@
 package com.example.React_spring_service.Controller;
 
+import com.example.React_spring_service.DTO.CursorPage;
 import com.example.React_spring_service.Entities.*;
 import com.example.React_spring_service.Enum.PostType;
 import com.example.React_spring_service.Repositories.CommunityPostRepository;
 import com.example.React_spring_service.Repositories.UserRepository;
 import com.example.React_spring_service.Services.GlobalDataService;
+import com.example.React_spring_service.Services.GlobalExportService;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -21,7 +25,11 @@ import java.util.Optional;
 // @CrossOrigin(origins = "*")
 public class GlobalController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final GlobalDataService globalDataService;
+    private final GlobalExportService globalExportService;
     private final CommunityPostRepository communityPostRepository;
     private final UserRepository userRepository;
 
@@ -60,9 +68,28 @@ public class GlobalController {
         return ResponseEntity.ok(globalDataService.getAllReviews());
     }
 
+    /**
+     * GET /api/transactions?cursor=...&limit=100
+     * Newest first, one page at a time. The cursor for the next page is returned
+     * in the X-Next-Cursor header (absent on the last page).
+     */
     @GetMapping("/transactions")
-    public ResponseEntity<List<CoinTransaction>> getAllTransactions() {
-        return ResponseEntity.ok(globalDataService.getAllTransactions());
+    public ResponseEntity<?> getAllTransactions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        CursorPage<CoinTransaction> page;
+        try {
+            page = globalDataService.getAllTransactions(cursor, Math.clamp(limit, 1, MAX_PAGE_SIZE));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "Invalid cursor"));
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     @GetMapping("/wishlist")
@@ -70,6 +97,39 @@ public class GlobalController {
         return ResponseEntity.ok(globalDataService.getAllWishlistEntries());
     }
 
+    // ==================== NDJSON EXPORT ====================
+    // Add ?format=ndjson to a bulk endpoint to stream every row, one JSON object per line,
+    // instead of building the whole list in memory first.
+
+    @GetMapping(value = "/users", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ndjson(globalExportService::exportUsers);
+    }
+
+    @GetMapping(value = "/reviews", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportReviews() {
+        return ndjson(globalExportService::exportReviews);
+    }
+
+    @GetMapping(value = "/transactions", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTransactions() {
+        return ndjson(globalExportService::exportTransactions);
+    }
+
+    @GetMapping(value = "/wishlist", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportWishlists() {
+        return ndjson(globalExportService::exportWishlists);
+    }
+
+    @GetMapping(value = "/community/posts", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        return ndjson(globalExportService::exportCommunityPosts);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
     @GetMapping("/community/posts/{postId}")
     public ResponseEntity<?> getPostById(@PathVariable Long postId) {
         Optional<CommunityPost> post = communityPostRepository.findById(postId);
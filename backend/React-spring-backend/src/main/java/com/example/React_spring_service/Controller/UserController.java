@@ -1,13 +1,21 @@
 package com.example.React_spring_service.Controller;
 
+import com.example.React_spring_service.DTO.CursorPage;
+import com.example.React_spring_service.DTO.FriendSuggestionDTO;
+import com.example.React_spring_service.DTO.GameCardDTO;
+import com.example.React_spring_service.DTO.UserProfileDTO;
 import com.example.React_spring_service.Entities.*;
+import com.example.React_spring_service.Services.NotificationStreamRegistry;
 import com.example.React_spring_service.Services.UserService;
 import com.example.React_spring_service.Enum.UserLevel;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.*;
 
@@ -17,7 +25,14 @@ import java.util.*;
 // @CrossOrigin(origins = "*")
 public class UserController {
 
+    private static final int MAX_NOTIFICATION_PAGE_SIZE = 200;
+    private static final int MAX_FRIEND_SUGGESTIONS = 100;
+
     private final UserService userService;
+    private final NotificationStreamRegistry notificationStreams;
+
+    @Value("${friends.bulk.max-ids:5000}")
+    private int friendsBulkMaxIds;
 
     // ==================== USER PROFILE ENDPOINTS ====================
 
@@ -29,7 +44,7 @@ public class UserController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
         try {
-            Optional<User> user = userService.getUserById(id);
+            Optional<UserProfileDTO> user = userService.getUserProfile(id);
             if (user.isPresent()) {
                 return ResponseEntity.ok(user.get());
             } else {
@@ -49,7 +64,7 @@ public class UserController {
     @GetMapping("/displayName/{displayName}")
     public ResponseEntity<?> getUserByDisplayName(@PathVariable String displayName) {
         try {
-            Optional<User> user = userService.getUserByDisplayName(displayName);
+            Optional<UserProfileDTO> user = userService.getUserProfileByDisplayName(displayName);
             if (user.isPresent()) {
                 return ResponseEntity.ok(user.get());
             } else {
@@ -82,7 +97,7 @@ public class UserController {
                     : null;
 
             User updatedUser = userService.updateUserProfile(id, displayName, displayImage, level, canSell);
-            return ResponseEntity.ok(updatedUser);
+            return ResponseEntity.ok(UserProfileDTO.of(updatedUser));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", e.getMessage()));
@@ -116,7 +131,7 @@ public class UserController {
     @GetMapping("/{id}/friends")
     public ResponseEntity<?> getUserFriends(@PathVariable Long id) {
         try {
-            Set<User> friends = userService.getUserFriends(id);
+            List<UserProfileDTO> friends = userService.getUserFriends(id);
             return ResponseEntity.ok(friends);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -124,6 +139,56 @@ public class UserController {
         }
     }
 
+    /**
+     * GET /api/react/users/{id}/friends/mutual/{otherId} (through gateway)
+     * Friends two users have in common
+     */
+    @GetMapping("/{id}/friends/mutual/{otherId}")
+    public ResponseEntity<?> getMutualFriends(
+            @PathVariable Long id,
+            @PathVariable Long otherId) {
+        try {
+            return ResponseEntity.ok(userService.getMutualFriends(id, otherId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/react/users/{id}/friends/suggestions?limit=10 (through gateway)
+     * Friends of friends, most mutual friends first
+     */
+    @GetMapping("/{id}/friends/suggestions")
+    public ResponseEntity<?> getFriendSuggestions(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<FriendSuggestionDTO> suggestions = userService.getFriendSuggestions(id,
+                    Math.clamp(limit, 1, MAX_FRIEND_SUGGESTIONS));
+            return ResponseEntity.ok(suggestions);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/react/users/{id}/friends/owning/{gameId} (through gateway)
+     * Friends who have a game in their library
+     */
+    @GetMapping("/{id}/friends/owning/{gameId}")
+    public ResponseEntity<?> getFriendsOwningGame(
+            @PathVariable Long id,
+            @PathVariable Long gameId) {
+        try {
+            return ResponseEntity.ok(userService.getFriendsOwningGame(id, gameId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * POST /api/react/users/{id}/friends/{friendId} (through gateway)
      * Add a friend
@@ -133,7 +198,7 @@ public class UserController {
             @PathVariable Long id,
             @PathVariable Long friendId) {
         try {
-            User user = userService.addFriend(id, friendId);
+            UserProfileDTO user = userService.addFriend(id, friendId);
             return ResponseEntity.ok(Map.of(
                     "message", "Friend added successfully",
                     "user", user));
@@ -143,6 +208,31 @@ public class UserController {
         }
     }
 
+    /**
+     * POST /api/react/users/{id}/friends/bulk (through gateway)
+     * Add many friends at once; safe to repeat
+     * Body: [2, 3, 4]
+     * Response: {"added": [...], "alreadyFriends": [...], "invalid": [...]}
+     */
+    @PostMapping("/{id}/friends/bulk")
+    public ResponseEntity<?> addFriends(
+            @PathVariable Long id,
+            @RequestBody List<Long> friendIds) {
+        if (friendIds == null || friendIds.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "friend_ids_required"));
+        }
+        if (friendIds.size() > friendsBulkMaxIds) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("error", "too_many_friend_ids", "max", friendsBulkMaxIds));
+        }
+        try {
+            return ResponseEntity.ok(userService.addFriends(id, friendIds));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * DELETE /api/react/users/{id}/friends/{friendId} (through gateway)
      * Remove a friend
@@ -152,7 +242,7 @@ public class UserController {
             @PathVariable Long id,
             @PathVariable Long friendId) {
         try {
-            User user = userService.removeFriend(id, friendId);
+            UserProfileDTO user = userService.removeFriend(id, friendId);
             return ResponseEntity.ok(Map.of(
                     "message", "Friend removed successfully",
                     "user", user));
@@ -181,12 +271,12 @@ public class UserController {
 
     /**
      * GET /api/react/users/{id}/library/full (through gateway)
-     * Get user's games library (full Game objects)
+     * Get user's games library (game cards)
      */
     @GetMapping("/{id}/library/full")
     public ResponseEntity<?> getUserLibraryFull(@PathVariable Long id) {
         try {
-            List<Game> games = userService.getUserGamesLibraryFull(id);
+            List<GameCardDTO> games = userService.getUserGamesLibraryFull(id);
             return ResponseEntity.ok(games);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -194,6 +284,17 @@ public class UserController {
         }
     }
 
+    /**
+     * GET /api/react/users/{id}/library/{gameId} (through gateway)
+     * Check whether the user owns a game
+     */
+    @GetMapping("/{id}/library/{gameId}")
+    public ResponseEntity<?> ownsGame(
+            @PathVariable Long id,
+            @PathVariable Long gameId) {
+        return ResponseEntity.ok(Map.of("owned", userService.ownsGame(id, gameId)));
+    }
+
     /**
      * POST /api/react/users/{id}/library/{gameId} (through gateway)
      * Add game to library
@@ -203,10 +304,10 @@ public class UserController {
             @PathVariable Long id,
             @PathVariable Long gameId) {
         try {
-            User user = userService.addGameToLibrary(id, gameId);
+            List<Long> library = userService.addGameToLibrary(id, gameId);
             return ResponseEntity.ok(Map.of(
                     "message", "Game added to library successfully",
-                    "library", user.getGamesInLibrary()));
+                    "library", library));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", e.getMessage()));
@@ -222,10 +323,10 @@ public class UserController {
             @PathVariable Long id,
             @PathVariable Long gameId) {
         try {
-            User user = userService.removeGameFromLibrary(id, gameId);
+            List<Long> library = userService.removeGameFromLibrary(id, gameId);
             return ResponseEntity.ok(Map.of(
                     "message", "Game removed from library successfully",
-                    "library", user.getGamesInLibrary()));
+                    "library", library));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", e.getMessage()));
@@ -251,12 +352,12 @@ public class UserController {
 
     /**
      * GET /api/react/users/{id}/wishlist/full (through gateway)
-     * Get user's wishlist (full Game objects)
+     * Get user's wishlist (game cards)
      */
     @GetMapping("/{id}/wishlist/full")
     public ResponseEntity<?> getUserWishlistFull(@PathVariable Long id) {
         try {
-            List<Game> games = userService.getUserWishlistFull(id);
+            List<GameCardDTO> games = userService.getUserWishlistFull(id);
             return ResponseEntity.ok(games);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -273,10 +374,10 @@ public class UserController {
             @PathVariable Long id,
             @PathVariable Long gameId) {
         try {
-            User user = userService.addGameToWishlist(id, gameId);
+            List<Long> wishlist = userService.addGameToWishlist(id, gameId);
             return ResponseEntity.ok(Map.of(
                     "message", "Game added to wishlist successfully",
-                    "wishlist", user.getWishlist()));
+                    "wishlist", wishlist));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", e.getMessage()));
@@ -292,10 +393,32 @@ public class UserController {
             @PathVariable Long id,
             @PathVariable Long gameId) {
         try {
-            User user = userService.removeGameFromWishlist(id, gameId);
+            List<Long> wishlist = userService.removeGameFromWishlist(id, gameId);
             return ResponseEntity.ok(Map.of(
                     "message", "Game removed from wishlist successfully",
-                    "wishlist", user.getWishlist()));
+                    "wishlist", wishlist));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    public static class WishlistUpdateRequest {
+        public List<Long> add;
+        public List<Long> remove;
+    }
+
+    /**
+     * POST /api/react/users/{id}/wishlist/bulk (through gateway)
+     * Add and remove many games at once
+     * Body: {"add": [1, 2, 3], "remove": [4]}
+     */
+    @PostMapping("/{id}/wishlist/bulk")
+    public ResponseEntity<?> updateWishlist(
+            @PathVariable Long id,
+            @RequestBody WishlistUpdateRequest request) {
+        try {
+            return ResponseEntity.ok(userService.updateWishlist(id, request.add, request.remove));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", e.getMessage()));
@@ -360,14 +483,74 @@ public class UserController {
     // ==================== NOTIFICATIONS ENDPOINTS ====================
 
     /**
-     * GET /api/react/users/{id}/notifications (through gateway)
-     * Get user's notifications
+     * GET /api/react/users/{id}/notifications?cursor=...&limit=50&unread=false (through gateway)
+     * Get user's notifications, newest first. The cursor for the next page is returned
+     * in the X-Next-Cursor header (absent on the last page).
      */
     @GetMapping("/{id}/notifications")
-    public ResponseEntity<?> getUserNotifications(@PathVariable Long id) {
+    public ResponseEntity<?> getUserNotifications(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean unread) {
+        CursorPage<Notification> page;
+        try {
+            page = userService.getUserNotifications(id, cursor, Math.clamp(limit, 1, MAX_NOTIFICATION_PAGE_SIZE), unread);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "invalid_cursor"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * GET /api/react/users/{id}/notifications/stream (through gateway)
+     * Server-Sent Events stream of new notifications (event name "notification", id = notification ID).
+     * A reconnecting client sends Last-Event-ID and first receives what it missed, or a "reset"
+     * event telling it to reload its notifications when it missed more than can be replayed.
+     */
+    @GetMapping(path = "/{id}/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(
+            @PathVariable Long id,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter;
+        try {
+            emitter = userService.subscribeToNotifications(id, lastEventId);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "5")
+                    .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * GET /api/react/users/notifications/stream/stats (through gateway)
+     * Open notification streams and how many slow ones were dropped
+     */
+    @GetMapping("/notifications/stream/stats")
+    public ResponseEntity<NotificationStreamRegistry.StreamStats> getNotificationStreamStats() {
+        return ResponseEntity.ok(notificationStreams.stats());
+    }
+
+    /**
+     * GET /api/react/users/{id}/notifications/unread-count (through gateway)
+     * Number of unread notifications
+     */
+    @GetMapping("/{id}/notifications/unread-count")
+    public ResponseEntity<?> getUnreadNotificationCount(@PathVariable Long id) {
         try {
-            List<Map<String, Object>> notifications = userService.getUserNotifications(id);
-            return ResponseEntity.ok(notifications);
+            return ResponseEntity.ok(Map.of("unread", userService.getUnreadNotificationCount(id)));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", e.getMessage()));
@@ -384,10 +567,46 @@ public class UserController {
             @PathVariable Long id,
             @RequestBody Map<String, Object> notification) {
         try {
-            User user = userService.addNotification(id, notification);
+            Notification created = userService.addNotification(id, notification);
             return ResponseEntity.ok(Map.of(
                     "message", "Notification added successfully",
-                    "notifications", user.getNotifications()));
+                    "notification", created));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/react/users/{id}/notifications/{notificationId}/read (through gateway)
+     * Mark one notification as read
+     */
+    @PostMapping("/{id}/notifications/{notificationId}/read")
+    public ResponseEntity<?> markNotificationRead(
+            @PathVariable Long id,
+            @PathVariable Long notificationId) {
+        try {
+            userService.markNotificationRead(id, notificationId);
+            return ResponseEntity.ok(Map.of(
+                    "message", "Notification marked as read",
+                    "unread", userService.getUnreadNotificationCount(id)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/react/users/{id}/notifications/read-all (through gateway)
+     * Mark all notifications as read
+     */
+    @PostMapping("/{id}/notifications/read-all")
+    public ResponseEntity<?> markAllNotificationsRead(@PathVariable Long id) {
+        try {
+            int marked = userService.markAllNotificationsRead(id);
+            return ResponseEntity.ok(Map.of(
+                    "message", "All notifications marked as read",
+                    "marked", marked));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", e.getMessage()));
@@ -411,18 +630,18 @@ public class UserController {
     }
 
     /**
-     * DELETE /api/react/users/{id}/notifications/{index} (through gateway)
-     * Remove specific notification by index
+     * DELETE /api/react/users/{id}/notifications/{notificationId} (through gateway)
+     * Remove specific notification by ID
      */
-    @DeleteMapping("/{id}/notifications/{index}")
+    @DeleteMapping("/{id}/notifications/{notificationId}")
     public ResponseEntity<?> removeNotification(
             @PathVariable Long id,
-            @PathVariable int index) {
+            @PathVariable Long notificationId) {
         try {
-            User user = userService.removeNotification(id, index);
+            userService.removeNotification(id, notificationId);
             return ResponseEntity.ok(Map.of(
                     "message", "Notification removed successfully",
-                    "notifications", user.getNotifications()));
+                    "unread", userService.getUnreadNotificationCount(id)));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(Map.of("error", e.getMessage()));
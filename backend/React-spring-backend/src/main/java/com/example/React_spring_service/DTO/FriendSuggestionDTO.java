@@ -0,0 +1,15 @@
+package com.example.React_spring_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FriendSuggestionDTO {
+    private UserProfileDTO user;
+    private Integer mutualFriends;
+}
@@ -0,0 +1,32 @@
+package com.example.React_spring_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * What a catalog, search, library or wishlist tile shows for a game. Never carries
+ * the description, developer logs or rewards, so listing pages skip those columns.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameCardDTO {
+    private Long id;
+    private String name;
+    private String developer;
+    private String publisher;
+    private Double rating;
+    private String profileImage;
+    private String backgroundImage;
+    private Double price;
+    private Double salePercent;
+    private boolean onSale;
+    private LocalDate dateReleased;
+    private List<String> tags;
+}
@@ -0,0 +1,25 @@
+package com.example.React_spring_service.DTO;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a tag search: the matching games' cards, how many games match in total,
+ * the most common tags among them (label to count) and the cursor of the next page
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameSearchResultDTO {
+    private List<GameCardDTO> games;
+    private Integer total;
+    private Map<String, Integer> facets;
+    private String nextCursor;
+}
@@ -13,6 +13,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class LeaderboardEntryDTO {
     private Integer rank;
+    private Long userId;
     private String displayName;
     private Integer score;
     private Integer level;
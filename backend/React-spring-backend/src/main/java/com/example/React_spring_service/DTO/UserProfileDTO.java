@@ -0,0 +1,30 @@
+package com.example.React_spring_service.DTO;
+
+import com.example.React_spring_service.Entities.User;
+import com.example.React_spring_service.Enum.UserLevel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The public face of a user: what profile reads, friend lists and profile updates return.
+ * Read straight from the users columns, so no collection is ever loaded to build one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileDTO {
+    private Long id;
+    private String displayName;
+    private String displayImage;
+    private UserLevel level;
+    private boolean canSell;
+
+    public static UserProfileDTO of(User user) {
+        return new UserProfileDTO(user.getId(), user.getDisplayName(), user.getDisplayImage(), user.getLevel(),
+                user.isCanSell());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.React_spring_service.Entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized coin balance, one row per user.
+ * Kept in sync with coin_transactions by CoinService so balance reads
+ * are a single-row lookup instead of a sum over the whole history.
+ * Every change goes through a conditional UPDATE on the balance itself,
+ * so a spend can never take the balance below zero.
+ */
+@Entity
+@Table(name = "coin_balances")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CoinBalance {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long balance;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
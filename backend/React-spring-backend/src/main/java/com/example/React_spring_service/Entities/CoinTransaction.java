@@ -7,7 +7,11 @@ import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "coin_transactions")
+@Table(name = "coin_transactions", indexes = {
+        // Backs the keyset-paginated history and feed queries
+        @Index(name = "idx_coin_tx_user_ts_id", columnList = "user_id, timestamp, id"),
+        @Index(name = "idx_coin_tx_ts_id", columnList = "timestamp, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -3,8 +3,9 @@ package com.example.React_spring_service.Entities;
 import jakarta.persistence.*;
 import lombok.*;
 import jakarta.persistence.Convert;
-import jakarta.persistence.Lob;
-import com.example.React_spring_service.Config.JsonConverter;
+import com.example.React_spring_service.Config.StringListConverter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import com.example.React_spring_service.Enum.PostType;
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -14,7 +15,8 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "community_posts")
+@Table(name = "community_posts",
+        indexes = @Index(name = "idx_community_posts_author", columnList = "author_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -63,15 +65,15 @@ public class CommunityPost {
 
     // --- JSONB FOR FLEXIBILITY ---
 
-    @Lob
-    @Column(columnDefinition = "TEXT")
-    @Convert(converter = JsonConverter.class)
+    @Column(columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Convert(converter = StringListConverter.class)
     @Builder.Default
     private List<String> tags = new ArrayList<>();
 
-    @Lob
-    @Column(columnDefinition = "TEXT")
-    @Convert(converter = JsonConverter.class)
+    @Column(columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Convert(converter = StringListConverter.class)
     @Builder.Default
     private List<String> attachments = new ArrayList<>(); // URLs to images, videos, or screenshots
 
@@ -4,12 +4,23 @@ import jakarta.persistence.*;
 import lombok.*;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Lob;
-import com.example.React_spring_service.Config.JsonConverter;
+import com.example.React_spring_service.Config.JsonObjectListConverter;
+import com.example.React_spring_service.Config.StringListConverter;
+import com.example.React_spring_service.Config.StringMapListConverter;
+import com.example.React_spring_service.Services.GameIndexListener;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDate;
 import java.util.*;
 
 @Entity
-@Table(name = "games")
+@Table(name = "games", indexes = {
+        // Keyset order of the catalog sorts, read backwards for the descending ones
+        @Index(name = "idx_games_price_id", columnList = "price, id"),
+        @Index(name = "idx_games_rating_id", columnList = "rating, id"),
+        @Index(name = "idx_games_date_released_id", columnList = "date_released, id")
+})
+@EntityListeners(GameIndexListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -48,19 +59,22 @@ public class Game {
 
     // --- JSONB DATA ---
 
-    @Column(columnDefinition = "TEXT")
-    @Convert(converter = JsonConverter.class)
+    @Column(columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Convert(converter = StringListConverter.class)
     @Builder.Default
     private List<String> tags = new ArrayList<>();
 
-    @Column(columnDefinition = "TEXT")
-    @Convert(converter = JsonConverter.class)
+    @Column(columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Convert(converter = StringMapListConverter.class)
     @Builder.Default
     private List<Map<String, String>> developerLogs = new ArrayList<>();
     // Structure: {"title": "Update v1.1", "description": "Fixed bugs..."}
 
-    @Column(columnDefinition = "TEXT")
-    @Convert(converter = JsonConverter.class)
+    @Column(columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Convert(converter = JsonObjectListConverter.class)
     @Builder.Default
     private List<Map<String, Object>> rewards = new ArrayList<>();
     // Structure: {"id": 1, "title": "Gold Skin", "cost": 500}
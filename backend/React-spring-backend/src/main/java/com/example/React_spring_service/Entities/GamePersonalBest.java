@@ -0,0 +1,53 @@
+package com.example.React_spring_service.Entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A user's best score in a playable game, one row per (user, game).
+ * Maintained by GameScoreService next to the raw game_scores history, so
+ * leaderboards read one row per player instead of sorting every attempt.
+ * The referenced GameScore is never pruned by the retention job.
+ */
+@Entity
+@Table(name = "game_personal_bests",
+        uniqueConstraints = @UniqueConstraint(name = "uk_personal_best_user_game", columnNames = { "user_id", "playable_game_id" }),
+        indexes = {
+                // Backs the leaderboard query
+                @Index(name = "idx_personal_best_game_score", columnList = "playable_game_id, score DESC, timestamp"),
+                @Index(name = "idx_personal_best_game_score_id", columnList = "game_score_id", unique = true)
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GamePersonalBest {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "playable_game_id", nullable = false)
+    private PlayableGame playableGame;
+
+    // The attempt that set this best
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "game_score_id", nullable = false)
+    private GameScore gameScore;
+
+    @Column(nullable = false)
+    private Integer score;
+
+    @Column
+    private Integer level;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+}
@@ -5,7 +5,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "game_scores")
+@Table(name = "game_scores", indexes = {
+        // Backs the retention prune, the daily / weekly boards and rebuilding a user's personal best
+        @Index(name = "idx_game_scores_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_game_scores_game_timestamp", columnList = "playable_game_id, timestamp"),
+        @Index(name = "idx_game_scores_user_game_score", columnList = "user_id, playable_game_id, score DESC")
+})
 @Data
 @Builder
 @NoArgsConstructor
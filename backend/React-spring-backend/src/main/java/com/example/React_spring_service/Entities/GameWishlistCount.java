@@ -0,0 +1,28 @@
+package com.example.React_spring_service.Entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of users wishlisting a game, one row per game.
+ * Kept in step with the wishlists table by WishlistService in the same
+ * statement as each add or remove, so "most wishlisted" is an index scan.
+ */
+@Entity
+@Table(name = "game_wishlist_counts", indexes = {
+        @Index(name = "idx_game_wishlist_counts_count", columnList = "wishlist_count DESC")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameWishlistCount {
+
+    @Id
+    @Column(name = "game_id")
+    private Long gameId;
+
+    @Column(name = "wishlist_count", nullable = false)
+    private Long wishlistCount;
+}
@@ -0,0 +1,65 @@
+package com.example.React_spring_service.Entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import com.example.React_spring_service.Config.JsonObjectConverter;
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One notification in a user's inbox. Replaces the JSON array that used to live
+ * in users.notifications: rows are only ever appended, marked read or deleted,
+ * so adding one never rewrites the others. IDs grow with insertion order,
+ * which makes (user_id, id) both the inbox ordering and the page cursor.
+ *
+ * The free-form payload (title, message, link...) is written out at the top
+ * level of the JSON next to id, read and createdAt, the same shape the old array entries had.
+ */
+@Entity
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_id", columnList = "user_id, id DESC"),
+        @Index(name = "idx_notifications_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Notification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Convert(converter = JsonObjectConverter.class)
+    @Getter(AccessLevel.NONE)
+    private Map<String, Object> payload;
+
+    @Column(name = "is_read", nullable = false)
+    private boolean read;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @JsonAnyGetter
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
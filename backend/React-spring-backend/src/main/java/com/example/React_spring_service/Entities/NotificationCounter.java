@@ -0,0 +1,27 @@
+package com.example.React_spring_service.Entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of unread notifications, one row per user.
+ * Kept in step with the notifications table by NotificationService in the same
+ * transaction as every add, read, delete and prune, so the badge count is a
+ * single-row lookup instead of a count over the inbox.
+ */
+@Entity
+@Table(name = "notification_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private Long unreadCount;
+}
@@ -5,6 +5,7 @@ import lombok.*;
 import java.util.*;
 
 import com.example.React_spring_service.Enum.RewardCategory;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Table(name = "rewards")
@@ -39,5 +40,6 @@ public class Reward {
     // Many users can own this reward
     @ManyToMany(mappedBy = "rewards")
     @ToString.Exclude
+    @JsonIgnore
     private Set<User> owners = new HashSet<>();
 }
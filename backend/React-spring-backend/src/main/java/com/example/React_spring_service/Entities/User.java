@@ -3,8 +3,6 @@ package com.example.React_spring_service.Entities;
 import jakarta.persistence.*;
 import lombok.*;
 
-import com.example.React_spring_service.Config.JsonConverter;
-
 import com.example.React_spring_service.Enum.UserLevel;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -41,36 +39,26 @@ public class User {
     private boolean canSell;
 
     // --- RELATIONAL (MANY-TO-MANY) ---
-    @ManyToMany
+    // Both are lazy and never serialized with the user; they are read through
+    // their own endpoints (/users/{id}/rewards, /users/{id}/friends).
+    // Friendships are symmetric and written through FriendGraphService, not this set.
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_rewards", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "reward_id"))
-    @JsonIgnoreProperties("users") // Prevent rewards from listing users back
+    @JsonIgnore
     private Set<Reward> rewards = new HashSet<>();
 
-    @ManyToMany
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_friends", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "friend_id"))
-    @JsonIgnoreProperties({ "friends", "communityPosts", "rewards" }) // Crucial: Stop the friend-of-a-friend loop
+    @JsonIgnore
     private Set<User> friends = new HashSet<>();
 
     // --- JSONB (ID LISTS & METADATA) ---
 
-    @Column(columnDefinition = "TEXT")
-    @Convert(converter = JsonConverter.class)
-    @Builder.Default
-    // FIX 1: Use Number to handle both Integer (from DB) and Long (intended)
-    // FIX 2: Add @JsonIgnore so a "Game" request doesn't leak the whole library
-    @JsonIgnore
-    private List<Number> gamesInLibrary = new ArrayList<>();
+    // The games library lives in the user_library table (see UserLibraryEntry)
 
-    @Column(columnDefinition = "TEXT")
-    @Convert(converter = JsonConverter.class)
-    @Builder.Default
-    @JsonIgnore
-    private List<Long> wishlist = new ArrayList<>();
+    // The wishlist lives in the wishlists table (see Wishlist and WishlistService)
 
-    @Column(columnDefinition = "TEXT")
-    @Convert(converter = JsonConverter.class)
-    @Builder.Default
-    private List<Map<String, Object>> notifications = new ArrayList<>();
+    // Notifications live in the notifications table (see Notification and NotificationService)
 
     // --- RELATIONSHIPS (ONE-TO-MANY) ---
 
@@ -0,0 +1,35 @@
+package com.example.React_spring_service.Entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * One game in a user's library. Replaces the JSON id list that used to live
+ * in users.games_in_library: membership is a unique-index lookup and
+ * "who owns game X" is served by the game_id index.
+ */
+@Entity
+@Table(name = "user_library",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_library_user_game", columnNames = { "user_id", "game_id" }),
+        indexes = @Index(name = "idx_user_library_game", columnList = "game_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserLibraryEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;
+
+    @Column(name = "added_at", nullable = false)
+    private LocalDateTime addedAt;
+}
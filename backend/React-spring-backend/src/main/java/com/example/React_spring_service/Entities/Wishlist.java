@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "wishlists")
+@Table(name = "wishlists",
+        uniqueConstraints = @UniqueConstraint(name = "uk_wishlists_user_game", columnNames = { "user_id", "game_id" }),
+        indexes = @Index(name = "idx_wishlists_game", columnList = "game_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,33 @@
+package com.example.React_spring_service.Enum;
+
+/**
+ * Orderings of the game catalog. Equal keys are ordered by game ID in the same direction
+ * as the key. Games without a value for the sort key come last either way, by game ID.
+ */
+public enum CatalogSort {
+    PRICE_ASC("price", false),
+    PRICE_DESC("price", true),
+    RATING_DESC("rating", true),
+    RATING_ASC("rating", false),
+    RELEASED_DESC("dateReleased", true),
+    RELEASED_ASC("dateReleased", false);
+
+    private final String attribute;
+    private final boolean descending;
+
+    CatalogSort(String attribute, boolean descending) {
+        this.attribute = attribute;
+        this.descending = descending;
+    }
+
+    /**
+     * The Game attribute sorted on
+     */
+    public String attribute() {
+        return attribute;
+    }
+
+    public boolean descending() {
+        return descending;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.React_spring_service.Enum;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Time window a leaderboard covers. DAILY and WEEKLY (Monday-based) roll over
+ * at midnight server time; ALL_TIME never does.
+ */
+public enum LeaderboardWindow {
+    DAILY, WEEKLY, ALL_TIME;
+
+    /**
+     * Start of the window containing the given time
+     */
+    public LocalDateTime start(LocalDateTime now) {
+        return switch (this) {
+            case DAILY -> now.toLocalDate().atStartOfDay();
+            case WEEKLY -> now.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            case ALL_TIME -> LocalDateTime.MIN;
+        };
+    }
+}
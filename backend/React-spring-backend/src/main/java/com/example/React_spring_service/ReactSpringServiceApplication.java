@@ -3,11 +3,13 @@ package com.example.React_spring_service;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import lombok.extern.slf4j.Slf4j;
 
 @SpringBootApplication
 @EnableDiscoveryClient(autoRegister = true)
+@EnableScheduling
 @Slf4j
 public class ReactSpringServiceApplication {
 
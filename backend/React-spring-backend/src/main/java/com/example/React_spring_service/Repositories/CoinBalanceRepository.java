@@ -0,0 +1,56 @@
+package com.example.React_spring_service.Repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.React_spring_service.Entities.CoinBalance;
+
+@Repository
+public interface CoinBalanceRepository extends JpaRepository<CoinBalance, Long> {
+
+    // Single-row balance lookup
+    @Query("SELECT b.balance FROM CoinBalance b WHERE b.userId = :userId")
+    Optional<Long> findBalanceByUserId(@Param("userId") Long userId);
+
+    // Add an amount to the user's balance, creating the row on first use
+    @Modifying
+    @Query(value = "INSERT INTO coin_balances (user_id, balance, updated_at) VALUES (:userId, :amount, now()) " +
+            "ON CONFLICT (user_id) DO UPDATE SET balance = coin_balances.balance + EXCLUDED.balance, " +
+            "updated_at = now()", nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId, @Param("amount") Long amount);
+
+    // Conditional spend: only succeeds (returns 1) if the balance stays non-negative
+    @Modifying
+    @Query(value = "UPDATE coin_balances SET balance = balance + :amount, updated_at = now() " +
+            "WHERE user_id = :userId AND balance + :amount >= 0", nativeQuery = true)
+    int trySpend(@Param("userId") Long userId, @Param("amount") Long amount);
+
+    // Users whose ledger row disagrees with the sum of their transaction history
+    @Query(value = "SELECT COALESCE(t.user_id, b.user_id) AS userId, " +
+            "COALESCE(t.total, 0) AS expected, COALESCE(b.balance, 0) AS actual " +
+            "FROM (SELECT user_id, SUM(amount) AS total FROM coin_transactions GROUP BY user_id) t " +
+            "FULL OUTER JOIN coin_balances b ON b.user_id = t.user_id " +
+            "WHERE COALESCE(t.total, 0) <> COALESCE(b.balance, 0)", nativeQuery = true)
+    List<BalanceDrift> findDrift();
+
+    // Rebuild one user's ledger row from the transaction history
+    @Modifying
+    @Query(value = "INSERT INTO coin_balances (user_id, balance, updated_at) " +
+            "SELECT :userId, COALESCE(SUM(amount), 0), now() FROM coin_transactions WHERE user_id = :userId " +
+            "ON CONFLICT (user_id) DO UPDATE SET balance = EXCLUDED.balance, updated_at = now()", nativeQuery = true)
+    int rebuildBalance(@Param("userId") Long userId);
+
+    interface BalanceDrift {
+        Long getUserId();
+
+        Long getExpected();
+
+        Long getActual();
+    }
+}
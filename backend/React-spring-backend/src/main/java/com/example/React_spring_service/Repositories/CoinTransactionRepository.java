@@ -1,14 +1,54 @@
 package com.example.React_spring_service.Repositories;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.React_spring_service.Entities.CoinTransaction;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CoinTransactionRepository extends JpaRepository<CoinTransaction, Long> {
-    // Get the full transaction history for a specific user
-    List<CoinTransaction> findByUserIdOrderByTimestampDesc(Long userId);
+
+    // --- Keyset pagination on (timestamp, id), newest first ---
+    // Pass PageRequest.of(0, size) as the Pageable; there is never an offset
+
+    // First page of a user's history
+    @Query("SELECT t FROM CoinTransaction t WHERE t.user.id = :userId ORDER BY t.timestamp DESC, t.id DESC")
+    List<CoinTransaction> findHistoryPage(@Param("userId") Long userId, Pageable pageable);
+
+    // Next page of a user's history, after the (timestamp, id) of the previous page's last row
+    @Query("SELECT t FROM CoinTransaction t WHERE t.user.id = :userId " +
+            "AND (t.timestamp < :timestamp OR (t.timestamp = :timestamp AND t.id < :id)) " +
+            "ORDER BY t.timestamp DESC, t.id DESC")
+    List<CoinTransaction> findHistoryPageAfter(@Param("userId") Long userId,
+            @Param("timestamp") LocalDateTime timestamp, @Param("id") Long id, Pageable pageable);
+
+    // First page of the global feed
+    @Query("SELECT t FROM CoinTransaction t JOIN FETCH t.user ORDER BY t.timestamp DESC, t.id DESC")
+    List<CoinTransaction> findFeedPage(Pageable pageable);
+
+    // Next page of the global feed
+    @Query("SELECT t FROM CoinTransaction t JOIN FETCH t.user " +
+            "WHERE t.timestamp < :timestamp OR (t.timestamp = :timestamp AND t.id < :id) " +
+            "ORDER BY t.timestamp DESC, t.id DESC")
+    List<CoinTransaction> findFeedPageAfter(@Param("timestamp") LocalDateTime timestamp, @Param("id") Long id,
+            Pageable pageable);
+
+    // Cursor-backed stream for bulk export; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM CoinTransaction t JOIN FETCH t.user")
+    Stream<CoinTransaction> streamAll();
 }
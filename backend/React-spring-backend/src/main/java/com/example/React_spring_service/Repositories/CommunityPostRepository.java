@@ -1,23 +1,37 @@
 package com.example.React_spring_service.Repositories;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.example.React_spring_service.Entities.CommunityPost;
 import com.example.React_spring_service.Enum.PostType;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CommunityPostRepository extends JpaRepository<CommunityPost, Long> {
     // Get feed by post type (e.g., NEWS only)
     List<CommunityPost> findByTypeOrderByDateCreatedDesc(PostType type);
 
-    @Query(value = "SELECT tag, COUNT(*) as tag_count " +
+    // Reads the jsonb tags as stored, no per-row parsing of text
+    @Query(value = "SELECT tag " +
             "FROM community_posts, jsonb_array_elements_text(tags) AS tag " +
             "GROUP BY tag " +
-            "ORDER BY tag_count DESC " +
+            "ORDER BY COUNT(*) DESC, tag " +
             "LIMIT 5", nativeQuery = true)
     List<String> findTopTags();
-}
\ No newline at end of file
+
+    // Cursor-backed stream for bulk export; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM CommunityPost p JOIN FETCH p.author")
+    Stream<CommunityPost> streamAll();
+}
@@ -0,0 +1,101 @@
+package com.example.React_spring_service.Repositories;
+
+import com.example.React_spring_service.Entities.GamePersonalBest;
+import com.example.React_spring_service.Entities.GameScore;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface GamePersonalBestRepository extends JpaRepository<GamePersonalBest, Long> {
+
+    /**
+     * Best score per player for a playable game (for leaderboard)
+     */
+    @Query("SELECT pb FROM GamePersonalBest pb JOIN FETCH pb.user WHERE pb.playableGame.id = :gameId " +
+            "ORDER BY pb.score DESC, pb.timestamp ASC, pb.gameScore.id ASC")
+    List<GamePersonalBest> findTopByGameId(@Param("gameId") Long gameId, Pageable pageable);
+
+    /**
+     * The attempt holding a user's best score in a playable game
+     */
+    @Query("SELECT pb.gameScore FROM GamePersonalBest pb WHERE pb.user.id = :userId AND pb.playableGame.id = :gameId")
+    Optional<GameScore> findBestScore(@Param("userId") Long userId, @Param("gameId") Long gameId);
+
+    /**
+     * Offer a saved attempt as the user's best: inserts the row on a first play and
+     * only overwrites it when the new score is strictly higher. Returns 1 if it became the best.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO game_personal_bests (user_id, playable_game_id, game_score_id, score, level, timestamp) " +
+            "SELECT gs.user_id, gs.playable_game_id, gs.id, gs.score, gs.level, gs.timestamp FROM game_scores gs WHERE gs.id = :scoreId " +
+            "ON CONFLICT (user_id, playable_game_id) DO UPDATE SET game_score_id = EXCLUDED.game_score_id, " +
+            "score = EXCLUDED.score, level = EXCLUDED.level, timestamp = EXCLUDED.timestamp " +
+            "WHERE EXCLUDED.score > game_personal_bests.score", nativeQuery = true)
+    int offer(@Param("scoreId") Long scoreId);
+
+    /**
+     * Recompute one user's best in a game from the remaining attempts (no row if there are none).
+     * The old row must have been removed first.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO game_personal_bests (user_id, playable_game_id, game_score_id, score, level, timestamp) " +
+            "SELECT gs.user_id, gs.playable_game_id, gs.id, gs.score, gs.level, gs.timestamp FROM game_scores gs " +
+            "WHERE gs.user_id = :userId AND gs.playable_game_id = :gameId " +
+            "ORDER BY gs.score DESC, gs.timestamp ASC, gs.id ASC LIMIT 1", nativeQuery = true)
+    int rebuild(@Param("userId") Long userId, @Param("gameId") Long gameId);
+
+    /**
+     * Create missing rows from the raw history, e.g. for scores recorded before this table existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO game_personal_bests (user_id, playable_game_id, game_score_id, score, level, timestamp) " +
+            "SELECT DISTINCT ON (gs.user_id, gs.playable_game_id) gs.user_id, gs.playable_game_id, gs.id, gs.score, gs.level, gs.timestamp " +
+            "FROM game_scores gs ORDER BY gs.user_id, gs.playable_game_id, gs.score DESC, gs.timestamp ASC, gs.id ASC " +
+            "ON CONFLICT (user_id, playable_game_id) DO NOTHING", nativeQuery = true)
+    int backfill();
+
+    @Modifying
+    @Query("DELETE FROM GamePersonalBest pb WHERE pb.gameScore.id = :scoreId")
+    int deleteByGameScoreId(@Param("scoreId") Long scoreId);
+
+    @Modifying
+    @Query("DELETE FROM GamePersonalBest pb WHERE pb.playableGame.id = :gameId")
+    int deleteByPlayableGameId(@Param("gameId") Long gameId);
+
+    /**
+     * Every personal best with its player's display name, used to warm the in-memory leaderboards.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT pb.gameScore.id AS id, pb.playableGame.id AS gameId, u.id AS userId, u.displayName AS displayName, " +
+            "pb.score AS score, pb.level AS level, pb.timestamp AS timestamp FROM GamePersonalBest pb JOIN pb.user u")
+    Stream<LeaderboardRow> streamLeaderboardRows();
+
+    interface LeaderboardRow {
+        Long getId();
+
+        Long getGameId();
+
+        Long getUserId();
+
+        String getDisplayName();
+
+        Integer getScore();
+
+        Integer getLevel();
+
+        LocalDateTime getTimestamp();
+    }
+}
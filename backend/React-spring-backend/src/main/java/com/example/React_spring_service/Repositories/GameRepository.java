@@ -1,25 +1,75 @@
 package com.example.React_spring_service.Repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.React_spring_service.DTO.GameCardDTO;
 import com.example.React_spring_service.Entities.Game;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
     // Find all games that are currently on sale
     List<Game> findByOnSaleTrue();
 
-    @Query(value = "SELECT * FROM games g WHERE g.tags::jsonb ?& CAST(:tags AS text[])", nativeQuery = true)
-    List<Game> findByTags(@Param("tags") List<String> tags);
+    // Games carrying every given tag. No tags matches nothing: ARRAY[] without elements is not valid SQL
+    default List<Game> findByTags(List<String> tags) {
+        return tags == null || tags.isEmpty() ? List.of() : findContainingAllTags(tags);
+    }
+
+    // Containment is served by the GIN index on tags; needs at least one tag, call findByTags
+    @Query(value = "SELECT * FROM games g WHERE g.tags @> to_jsonb(CAST(ARRAY[:tags] AS text[]))", nativeQuery = true)
+    List<Game> findContainingAllTags(@Param("tags") List<String> tags);
 
     // // Find games containing a specific tag in the JSONB column
     // List<Game> findByTagsContaining(String tag);
 
     // Find game by name
     java.util.Optional<Game> findByName(String name);
-}
\ No newline at end of file
+
+    // Card fields for many games in one query (order is not preserved)
+    @Query("SELECT new com.example.React_spring_service.DTO.GameCardDTO(g.id, g.name, g.developer, g.publisher, " +
+            "g.rating, g.profileImage, g.backgroundImage, g.price, g.salePercent, g.onSale, g.dateReleased, g.tags) " +
+            "FROM Game g WHERE g.id IN :ids")
+    List<GameCardDTO> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Every game's tags, for building the in-memory tag index
+    @Query("SELECT g.id AS id, g.tags AS tags FROM Game g")
+    List<GameTags> findAllTags();
+
+    interface GameTags {
+        Long getId();
+
+        List<String> getTags();
+    }
+
+    // The searchable text of every game, for building the full-text index; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT g.id AS id, g.name AS name, g.description AS description, g.developer AS developer, " +
+            "g.publisher AS publisher, g.tags AS tags FROM Game g")
+    Stream<GameText> streamAllText();
+
+    interface GameText {
+        Long getId();
+
+        String getName();
+
+        String getDescription();
+
+        String getDeveloper();
+
+        String getPublisher();
+
+        List<String> getTags();
+    }
+}
@@ -1,29 +1,25 @@
 package com.example.React_spring_service.Repositories;
 
 import com.example.React_spring_service.Entities.GameScore;
-import org.springframework.data.domain.Pageable;
+import com.example.React_spring_service.Repositories.GamePersonalBestRepository.LeaderboardRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GameScoreRepository extends JpaRepository<GameScore, Long> {
 
-    /**
-     * Find top scores for a playable game (for leaderboard)
-     */
-    @Query("SELECT gs FROM GameScore gs WHERE gs.playableGame.id = :gameId ORDER BY gs.score DESC, gs.timestamp ASC")
-    List<GameScore> findTopScoresByGameId(@Param("gameId") Long gameId, Pageable pageable);
-
-    /**
-     * Find user's best score for a playable game
-     */
-    Optional<GameScore> findTopByUserIdAndPlayableGameIdOrderByScoreDesc(Long userId, Long playableGameId);
-
     /**
      * Find all scores for a user in a specific playable game
      */
@@ -38,4 +34,41 @@ public interface GameScoreRepository extends JpaRepository<GameScore, Long> {
      * Find all scores for a playable game
      */
     List<GameScore> findByPlayableGameIdOrderByScoreDesc(Long playableGameId);
+
+    /**
+     * Best score per player for a playable game since a point in time (for daily / weekly leaderboards)
+     */
+    @Query(value = "SELECT * FROM (SELECT DISTINCT ON (gs.user_id) gs.* FROM game_scores gs " +
+            "WHERE gs.playable_game_id = :gameId AND gs.timestamp >= :since " +
+            "ORDER BY gs.user_id, gs.score DESC, gs.timestamp ASC, gs.id ASC) best " +
+            "ORDER BY best.score DESC, best.timestamp ASC, best.id ASC LIMIT :limit", nativeQuery = true)
+    List<GameScore> findTopScoresByGameIdSince(@Param("gameId") Long gameId, @Param("since") LocalDateTime since,
+            @Param("limit") int limit);
+
+    /**
+     * A user's best attempt in a playable game since a point in time
+     */
+    Optional<GameScore> findFirstByUserIdAndPlayableGameIdAndTimestampGreaterThanEqualOrderByScoreDescTimestampAscIdAsc(
+            Long userId, Long playableGameId, LocalDateTime since);
+
+    /**
+     * Every attempt since a point in time with its player's display name, used to warm the
+     * daily and weekly leaderboards. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT gs.id AS id, gs.playableGame.id AS gameId, u.id AS userId, u.displayName AS displayName, " +
+            "gs.score AS score, gs.level AS level, gs.timestamp AS timestamp FROM GameScore gs JOIN gs.user u " +
+            "WHERE gs.timestamp >= :since")
+    Stream<LeaderboardRow> streamLeaderboardRowsSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Delete up to batchSize attempts older than the cutoff, skipping any that hold a personal best.
+     * Each call commits on its own so a large prune never holds locks for long.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM game_scores WHERE id IN (SELECT gs.id FROM game_scores gs WHERE gs.timestamp < :cutoff " +
+            "AND NOT EXISTS (SELECT 1 FROM game_personal_bests pb WHERE pb.game_score_id = gs.id) LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteAttemptsBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
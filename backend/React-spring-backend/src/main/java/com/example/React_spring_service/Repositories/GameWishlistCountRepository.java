@@ -0,0 +1,23 @@
+package com.example.React_spring_service.Repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.React_spring_service.Entities.GameWishlistCount;
+
+@Repository
+public interface GameWishlistCountRepository extends JpaRepository<GameWishlistCount, Long> {
+
+    @Query("SELECT c.wishlistCount FROM GameWishlistCount c WHERE c.gameId = :gameId")
+    Optional<Long> findCountByGameId(@Param("gameId") Long gameId);
+
+    // Most wishlisted games first
+    @Query("SELECT c FROM GameWishlistCount c WHERE c.wishlistCount > 0 ORDER BY c.wishlistCount DESC, c.gameId ASC")
+    List<GameWishlistCount> findMostWishlisted(Pageable pageable);
+}
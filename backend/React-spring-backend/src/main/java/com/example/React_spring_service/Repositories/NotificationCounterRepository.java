@@ -0,0 +1,24 @@
+package com.example.React_spring_service.Repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.React_spring_service.Entities.NotificationCounter;
+
+@Repository
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, Long> {
+
+    @Query("SELECT c.unreadCount FROM NotificationCounter c WHERE c.userId = :userId")
+    Optional<Long> findUnreadCount(@Param("userId") Long userId);
+
+    // Count one more unread notification, creating the row on first use
+    @Modifying
+    @Query(value = "INSERT INTO notification_counters (user_id, unread_count) VALUES (:userId, 1) " +
+            "ON CONFLICT (user_id) DO UPDATE SET unread_count = notification_counters.unread_count + 1", nativeQuery = true)
+    int increment(@Param("userId") Long userId);
+}
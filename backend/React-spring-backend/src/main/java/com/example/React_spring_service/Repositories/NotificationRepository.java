@@ -0,0 +1,35 @@
+package com.example.React_spring_service.Repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.React_spring_service.Entities.Notification;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    // --- Keyset pagination on id, newest first ---
+    // Pass PageRequest.of(0, size) as the Pageable; there is never an offset
+
+    // First page of a user's inbox, optionally unread only
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND (:unreadOnly = false OR n.read = false) " +
+            "ORDER BY n.id DESC")
+    List<Notification> findInboxPage(@Param("userId") Long userId, @Param("unreadOnly") boolean unreadOnly,
+            Pageable pageable);
+
+    // Next page of a user's inbox, after the id of the previous page's last row
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND (:unreadOnly = false OR n.read = false) " +
+            "AND n.id < :id ORDER BY n.id DESC")
+    List<Notification> findInboxPageAfter(@Param("userId") Long userId, @Param("unreadOnly") boolean unreadOnly,
+            @Param("id") Long id, Pageable pageable);
+
+    // Notifications a reconnecting stream missed, oldest first
+    List<Notification> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Pageable pageable);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+}
@@ -1,12 +1,18 @@
 package com.example.React_spring_service.Repositories;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.example.React_spring_service.Entities.Review;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     // Find all reviews for a specific game
@@ -14,4 +20,12 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     // Check if a user has already reviewed this game (for your Unique Constraint)
     boolean existsByUserIdAndGameId(Long userId, Long gameId);
-}
\ No newline at end of file
+
+    // Cursor-backed stream for bulk export; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.game")
+    Stream<Review> streamAll();
+}
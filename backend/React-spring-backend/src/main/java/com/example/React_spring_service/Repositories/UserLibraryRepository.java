@@ -0,0 +1,62 @@
+package com.example.React_spring_service.Repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.React_spring_service.Entities.UserLibraryEntry;
+
+@Repository
+public interface UserLibraryRepository extends JpaRepository<UserLibraryEntry, Long> {
+
+    // Add a game, returns 0 if it was already in the library
+    @Modifying
+    @Query(value = "INSERT INTO user_library (user_id, game_id, added_at) VALUES (:userId, :gameId, now()) " +
+            "ON CONFLICT (user_id, game_id) DO NOTHING", nativeQuery = true)
+    int add(@Param("userId") Long userId, @Param("gameId") Long gameId);
+
+    // Remove a game, returns 0 if it was not in the library
+    @Modifying
+    @Query("DELETE FROM UserLibraryEntry e WHERE e.userId = :userId AND e.gameId = :gameId")
+    int remove(@Param("userId") Long userId, @Param("gameId") Long gameId);
+
+    boolean existsByUserIdAndGameId(Long userId, Long gameId);
+
+    // Game IDs in the order they were added
+    @Query("SELECT e.gameId FROM UserLibraryEntry e WHERE e.userId = :userId ORDER BY e.addedAt, e.id")
+    List<Long> findGameIdsByUserId(@Param("userId") Long userId);
+
+    long countByUserId(Long userId);
+
+    // Which of the given users own a game, one unique-index probe per user
+    @Query("SELECT e.userId FROM UserLibraryEntry e WHERE e.gameId = :gameId AND e.userId IN :userIds")
+    List<Long> findOwnersAmong(@Param("gameId") Long gameId, @Param("userIds") Collection<Long> userIds);
+
+    // Number of users who own a game
+    long countByGameId(Long gameId);
+
+    // Copy every legacy users.games_in_library JSON array into user_library
+    @Modifying
+    @Query(value = "INSERT INTO user_library (user_id, game_id, added_at) " +
+            "SELECT u.id, CAST(ids.value AS bigint), now() FROM users u " +
+            "CROSS JOIN LATERAL jsonb_array_elements_text(CAST(u.games_in_library AS jsonb)) WITH ORDINALITY AS ids(value, position) " +
+            "WHERE u.games_in_library IS NOT NULL AND u.games_in_library <> '' " +
+            "AND jsonb_typeof(CAST(u.games_in_library AS jsonb)) = 'array' " +
+            "ORDER BY u.id, ids.position " +
+            "ON CONFLICT (user_id, game_id) DO NOTHING", nativeQuery = true)
+    int migrateLegacyLibraries();
+
+    // Blank the legacy column after the copy; left in place, a game since removed from user_library would be copied back
+    @Modifying
+    @Query(value = "UPDATE users SET games_in_library = NULL WHERE games_in_library IS NOT NULL", nativeQuery = true)
+    int clearLegacyLibraries();
+
+    @Query(value = "SELECT COUNT(*) > 0 FROM information_schema.columns " +
+            "WHERE table_name = 'users' AND column_name = 'games_in_library'", nativeQuery = true)
+    boolean hasLegacyLibraryColumn();
+}
@@ -1,14 +1,112 @@
 package com.example.React_spring_service.Repositories;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.React_spring_service.DTO.UserProfileDTO;
 import com.example.React_spring_service.Entities.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     // Find a user by display name for search or login logic
     Optional<User> findByDisplayName(String displayName);
-}
\ No newline at end of file
+
+    // --- Profile projections: only the users columns, never the collections ---
+
+    @Query("SELECT new com.example.React_spring_service.DTO.UserProfileDTO(u.id, u.displayName, u.displayImage, u.level, u.canSell) " +
+            "FROM User u WHERE u.id = :id")
+    Optional<UserProfileDTO> findProfileById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.React_spring_service.DTO.UserProfileDTO(u.id, u.displayName, u.displayImage, u.level, u.canSell) " +
+            "FROM User u WHERE u.displayName = :displayName")
+    Optional<UserProfileDTO> findProfileByDisplayName(@Param("displayName") String displayName);
+
+    @Query("SELECT new com.example.React_spring_service.DTO.UserProfileDTO(u.id, u.displayName, u.displayImage, u.level, u.canSell) " +
+            "FROM User u WHERE u.id IN :ids ORDER BY u.displayName, u.id")
+    List<UserProfileDTO> findProfilesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // --- Friendships: user_friends holds every friendship as two rows, one per direction ---
+    // The NOT EXISTS guards keep rows unique even on schemas without the (user_id, friend_id) primary key
+
+    @Modifying
+    @Query(value = "INSERT INTO user_friends (user_id, friend_id) " +
+            "SELECT v.user_id, v.friend_id FROM (VALUES (:userId, :friendId), (:friendId, :userId)) AS v(user_id, friend_id) " +
+            "WHERE NOT EXISTS (SELECT 1 FROM user_friends f WHERE f.user_id = v.user_id AND f.friend_id = v.friend_id) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addFriendship(@Param("userId") Long userId, @Param("friendId") Long friendId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_friends WHERE (user_id = :userId AND friend_id = :friendId) " +
+            "OR (user_id = :friendId AND friend_id = :userId)", nativeQuery = true)
+    int removeFriendship(@Param("userId") Long userId, @Param("friendId") Long friendId);
+
+    // Add the missing reverse row of every one-directional friendship
+    @Modifying
+    @Query(value = "INSERT INTO user_friends (user_id, friend_id) " +
+            "SELECT DISTINCT f.friend_id, f.user_id FROM user_friends f WHERE f.user_id <> f.friend_id " +
+            "AND NOT EXISTS (SELECT 1 FROM user_friends r WHERE r.user_id = f.friend_id AND r.friend_id = f.user_id) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int symmetrizeFriendships();
+
+    // Which of the given IDs exist, without loading the users
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Profile header: the user's own columns plus every count, in one round trip and without loading any collection
+    @Query(value = "SELECT u.id AS userId, u.display_name AS displayName, u.display_image AS displayImage, " +
+            "u.level AS level, u.can_sell AS canSell, " +
+            "(SELECT COUNT(*) FROM user_library l WHERE l.user_id = u.id) AS totalGames, " +
+            "(SELECT COUNT(*) FROM wishlists w WHERE w.user_id = u.id) AS totalWishlist, " +
+            "(SELECT COUNT(*) FROM user_friends f WHERE f.user_id = u.id) AS totalFriends, " +
+            "(SELECT COUNT(*) FROM user_rewards r WHERE r.user_id = u.id) AS totalRewards, " +
+            "(SELECT COUNT(*) FROM community_posts p WHERE p.author_id = u.id) AS totalPosts, " +
+            "COALESCE((SELECT c.unread_count FROM notification_counters c WHERE c.user_id = u.id), 0) AS unreadNotifications " +
+            "FROM users u WHERE u.id = :userId", nativeQuery = true)
+    Optional<UserStatistics> findStatisticsById(@Param("userId") Long userId);
+
+    // Cursor-backed stream for bulk export; must be consumed inside a transaction.
+    // Profiles rather than entities, so writing a row can never touch a lazy collection.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.React_spring_service.DTO.UserProfileDTO(u.id, u.displayName, u.displayImage, u.level, u.canSell) " +
+            "FROM User u")
+    Stream<UserProfileDTO> streamAll();
+
+    interface UserStatistics {
+        Long getUserId();
+
+        String getDisplayName();
+
+        String getDisplayImage();
+
+        String getLevel();
+
+        Boolean getCanSell();
+
+        Long getTotalGames();
+
+        Long getTotalWishlist();
+
+        Long getTotalFriends();
+
+        Long getTotalRewards();
+
+        Long getTotalPosts();
+
+        Long getUnreadNotifications();
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.React_spring_service.Repositories;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.React_spring_service.Entities.Wishlist;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
     // Check if a game is already wishlisted
@@ -14,4 +21,18 @@ public interface WishlistRepository extends JpaRepository<Wishlist, Long> {
 
     // Get a user's full wishlist
     List<Wishlist> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    // Game IDs on a user's wishlist in the order they were added
+    @Query("SELECT w.game.id FROM Wishlist w WHERE w.user.id = :userId ORDER BY w.dateAdded, w.id")
+    List<Long> findGameIdsByUserId(@Param("userId") Long userId);
+
+    long countByUserId(Long userId);
+
+    // Cursor-backed stream for bulk export; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT w FROM Wishlist w JOIN FETCH w.user JOIN FETCH w.game")
+    Stream<Wishlist> streamAll();
+}
@@ -0,0 +1,48 @@
+package com.example.React_spring_service.Services;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.React_spring_service.Repositories.CoinBalanceRepository;
+import com.example.React_spring_service.Repositories.CoinBalanceRepository.BalanceDrift;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically checks the coin_balances ledger against the coin_transactions
+ * history and, when enabled, rebuilds any row that has drifted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoinBalanceReconciler {
+
+    private final CoinBalanceRepository balanceRepository;
+    private final CoinService coinService;
+
+    @Value("${coins.reconciliation.repair:true}")
+    private boolean repair;
+
+    @Scheduled(initialDelayString = "${coins.reconciliation.initial-delay-ms:60000}", fixedDelayString = "${coins.reconciliation.interval-ms:3600000}")
+    public void reconcile() {
+        List<BalanceDrift> drift = balanceRepository.findDrift();
+        if (drift.isEmpty()) {
+            log.debug("Coin ledger reconciliation found no drift");
+            return;
+        }
+
+        for (BalanceDrift row : drift) {
+            log.warn("Coin ledger drift for user ID " + row.getUserId() + ": expected " + row.getExpected()
+                    + ", ledger " + row.getActual());
+            if (repair) {
+                // Rebuilt under the user's lock stripe so it cannot interleave with a live spend
+                coinService.rebuildBalance(row.getUserId());
+            }
+        }
+        log.info("Coin ledger reconciliation found " + drift.size() + " drifted balance(s), repaired: " + repair);
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.DTO.CursorPage;
+import com.example.React_spring_service.Entities.CoinBalance;
+import com.example.React_spring_service.Entities.CoinTransaction;
+import com.example.React_spring_service.Entities.User;
+import com.example.React_spring_service.Repositories.CoinBalanceRepository;
+import com.example.React_spring_service.Repositories.CoinTransactionRepository;
+import com.example.React_spring_service.Repositories.UserRepository;
+import com.example.React_spring_service.Util.KeysetCursor;
+import com.example.React_spring_service.Util.StripedLocks;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Coin economy operations backed by the coin_balances ledger.
+ *
+ * Transactions for the same user are serialized on a lock stripe that is held
+ * until the database transaction commits, so concurrent spends queue up in memory
+ * instead of on row locks. The ledger update itself is a conditional UPDATE,
+ * which keeps the no-overdraft guarantee even across multiple service instances.
+ */
+@Service
+public class CoinService {
+
+    private static final int JDBC_BATCH_SIZE = 500;
+
+    private static final String INSERT_TRANSACTION_SQL = "INSERT INTO coin_transactions (user_id, amount, reason, timestamp) "
+            + "VALUES (?, ?, ?, ?)";
+
+    // Same conditional semantics as trySpend: a row that would go negative is left alone and reports 0
+    private static final String APPLY_DELTA_SQL = "INSERT INTO coin_balances (user_id, balance, updated_at) "
+            + "VALUES (?, ?, now()) ON CONFLICT (user_id) DO UPDATE SET balance = coin_balances.balance + EXCLUDED.balance, "
+            + "updated_at = now() WHERE coin_balances.balance + EXCLUDED.balance >= 0";
+
+    private final CoinTransactionRepository transactionRepository;
+    private final CoinBalanceRepository balanceRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StripedLocks userLocks;
+
+    public CoinService(CoinTransactionRepository transactionRepository,
+            CoinBalanceRepository balanceRepository,
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${coins.lock-stripes:1024}") int lockStripes) {
+        this.transactionRepository = transactionRepository;
+        this.balanceRepository = balanceRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userLocks = new StripedLocks(lockStripes);
+    }
+
+    /**
+     * Current balance from the materialized ledger (0 if the user never transacted)
+     */
+    @Transactional(readOnly = true)
+    public long getBalance(Long userId) {
+        return balanceRepository.findBalanceByUserId(userId).orElse(0L);
+    }
+
+    /**
+     * One page of a user's transaction history, newest first.
+     * The cursor is the nextCursor of the previous page, or null for the first page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CoinTransaction> getTransactionHistory(Long userId, String cursor, int limit) {
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<CoinTransaction> rows;
+        if (cursor == null) {
+            rows = transactionRepository.findHistoryPage(userId, page);
+        } else {
+            TransactionKey key = TransactionKey.decode(cursor);
+            rows = transactionRepository.findHistoryPageAfter(userId, key.timestamp(), key.id(), page);
+        }
+        return CursorPage.of(rows, limit, TransactionKey::encode);
+    }
+
+    /**
+     * One page of the transaction feed across all users, newest first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CoinTransaction> getTransactionFeed(String cursor, int limit) {
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<CoinTransaction> rows;
+        if (cursor == null) {
+            rows = transactionRepository.findFeedPage(page);
+        } else {
+            TransactionKey key = TransactionKey.decode(cursor);
+            rows = transactionRepository.findFeedPageAfter(key.timestamp(), key.id(), page);
+        }
+        return CursorPage.of(rows, limit, TransactionKey::encode);
+    }
+
+    /**
+     * Record a transaction and update the ledger in the same database transaction.
+     * Spends (negative amounts) are rejected if they would take the balance below zero.
+     */
+    public TransactionResult createTransaction(User user, long amount, String reason) {
+        Long userId = user.getId();
+        return userLocks.withLock(userId, () -> transactionTemplate.execute(status -> {
+            if (amount < 0) {
+                if (balanceRepository.trySpend(userId, amount) == 0) {
+                    throw new InsufficientFundsException(getBalance(userId));
+                }
+            } else {
+                balanceRepository.applyDelta(userId, amount);
+            }
+            CoinTransaction saved = transactionRepository.save(newTransaction(user, amount, reason));
+            return new TransactionResult(saved, getBalance(userId));
+        }));
+    }
+
+    /**
+     * Insert a transaction and apply it to the ledger without any funds check
+     */
+    @Transactional
+    public CoinTransaction recordTransaction(User user, long amount, String reason) {
+        CoinTransaction saved = transactionRepository.save(newTransaction(user, amount, reason));
+        balanceRepository.applyDelta(user.getId(), amount);
+        return saved;
+    }
+
+    /**
+     * Validate and persist a burst of transactions across many users in one database transaction.
+     *
+     * Users are checked with a single ID query and balances are loaded in one batch, then each item
+     * is validated in request order against the running in-memory balance. Accepted items are written
+     * with JDBC batch inserts and the ledger gets one upsert per user with the net change.
+     * Rejected items do not affect the others.
+     */
+    public List<BulkItemResult> createTransactions(List<BulkItem> items) {
+        Set<Long> userIds = new HashSet<>();
+        for (BulkItem item : items) {
+            if (item.userId() != null) {
+                userIds.add(item.userId());
+            }
+        }
+        Set<Long> existingUsers = userIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(userIds));
+
+        return userLocks.withLocks(existingUsers, () -> transactionTemplate.execute(status -> {
+            Map<Long, Long> balances = new HashMap<>();
+            for (CoinBalance row : balanceRepository.findAllById(existingUsers)) {
+                balances.put(row.getUserId(), row.getBalance());
+            }
+
+            List<BulkItemResult> results = new ArrayList<>(items.size());
+            List<Object[]> inserts = new ArrayList<>();
+            Map<Long, Long> deltas = new LinkedHashMap<>();
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+            for (int index = 0; index < items.size(); index++) {
+                BulkItem item = items.get(index);
+                if (item.userId() == null) {
+                    results.add(BulkItemResult.error(index, null, "user_id_required", null));
+                    continue;
+                }
+                if (item.amount() == null) {
+                    results.add(BulkItemResult.error(index, item.userId(), "amount_required", null));
+                    continue;
+                }
+                if (!existingUsers.contains(item.userId())) {
+                    results.add(BulkItemResult.error(index, item.userId(), "user_not_found", null));
+                    continue;
+                }
+
+                long current = balances.getOrDefault(item.userId(), 0L);
+                long amount = item.amount();
+                if (amount < 0 && current + amount < 0) {
+                    results.add(BulkItemResult.error(index, item.userId(), "insufficient_funds", current));
+                    continue;
+                }
+
+                balances.put(item.userId(), current + amount);
+                deltas.merge(item.userId(), amount, Long::sum);
+                inserts.add(new Object[] { item.userId(), amount,
+                        item.reason() == null ? "MANUAL" : item.reason(), now });
+                results.add(BulkItemResult.ok(index, item.userId(), current + amount));
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, inserts, JDBC_BATCH_SIZE, (ps, row) -> {
+                ps.setLong(1, (Long) row[0]);
+                ps.setLong(2, (Long) row[1]);
+                ps.setString(3, (String) row[2]);
+                ps.setTimestamp(4, (Timestamp) row[3]);
+            });
+
+            List<Map.Entry<Long, Long>> deltaRows = new ArrayList<>(deltas.entrySet());
+            int[][] counts = jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, deltaRows, JDBC_BATCH_SIZE, (ps, row) -> {
+                ps.setLong(1, row.getKey());
+                ps.setLong(2, row.getValue());
+            });
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    if (count == 0) {
+                        // Another instance spent from one of these balances after we read it
+                        throw new ConcurrentBalanceUpdateException();
+                    }
+                }
+            }
+            return results;
+        }));
+    }
+
+    /**
+     * Recompute a user's ledger row from the transaction history
+     */
+    public void rebuildBalance(Long userId) {
+        userLocks.withLock(userId, () -> transactionTemplate.execute(status -> balanceRepository.rebuildBalance(userId)));
+    }
+
+    private CoinTransaction newTransaction(User user, long amount, String reason) {
+        return CoinTransaction.builder()
+                .amount(amount)
+                .reason(reason)
+                .user(user)
+                .build();
+    }
+
+    public record TransactionResult(CoinTransaction transaction, long balance) {
+    }
+
+    // (timestamp, id) sort key of a transaction, as carried in a page cursor
+    private record TransactionKey(LocalDateTime timestamp, Long id) {
+
+        static String encode(CoinTransaction tx) {
+            return KeysetCursor.encode(tx.getTimestamp(), tx.getId());
+        }
+
+        static TransactionKey decode(String cursor) {
+            String[] parts = KeysetCursor.decode(cursor, 2);
+            try {
+                return new TransactionKey(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+    }
+
+    public record BulkItem(Long userId, Long amount, String reason) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record BulkItemResult(int index, Long userId, String status, String error, Long balance) {
+
+        static BulkItemResult ok(int index, Long userId, long balance) {
+            return new BulkItemResult(index, userId, "ok", null, balance);
+        }
+
+        static BulkItemResult error(int index, Long userId, String error, Long balance) {
+            return new BulkItemResult(index, userId, "error", error, balance);
+        }
+    }
+
+    public static class ConcurrentBalanceUpdateException extends RuntimeException {
+        public ConcurrentBalanceUpdateException() {
+            super("A balance changed concurrently, no transactions were saved");
+        }
+    }
+
+    @Getter
+    public static class InsufficientFundsException extends RuntimeException {
+        private final long balance;
+
+        public InsufficientFundsException(long balance) {
+            super("Insufficient funds, balance: " + balance);
+            this.balance = balance;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.Repositories.UserLibraryRepository;
+import com.example.React_spring_service.Repositories.UserRepository;
+import com.example.React_spring_service.Util.LongCounter;
+import com.example.React_spring_service.Util.LongIdSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The friend graph. Friendships are symmetric: user_friends holds a row in each
+ * direction, written and removed together.
+ *
+ * Each user's friends are cached as a sorted LongIdSet (a packed long[]), loaded
+ * on first use and dropped when one of their friendships changes. Mutual friends are a
+ * linear merge of two arrays, and friend-of-friend suggestions tally the friends of
+ * every friend in a primitive counter. Neither touches the database once the
+ * adjacency lists involved are cached, and missing lists are loaded in one query.
+ */
+@Service
+@Transactional
+public class FriendGraphService {
+
+    private static final String LOAD_SQL = "SELECT user_id, friend_id FROM user_friends "
+            + "WHERE user_id = ANY(?::bigint[]) ORDER BY user_id, friend_id";
+
+    // Both directions of every requested edge that is missing; returns the friends newly added on the user's side
+    private static final String CONNECT_ALL_SQL = "WITH inserted AS ("
+            + "INSERT INTO user_friends (user_id, friend_id) "
+            + "SELECT e.user_id, e.friend_id FROM ("
+            + "SELECT CAST(? AS bigint) AS user_id, f.id AS friend_id FROM unnest(?::bigint[]) AS f(id) "
+            + "UNION ALL SELECT f.id, CAST(? AS bigint) FROM unnest(?::bigint[]) AS f(id)) e "
+            + "WHERE NOT EXISTS (SELECT 1 FROM user_friends x WHERE x.user_id = e.user_id AND x.friend_id = e.friend_id) "
+            + "ON CONFLICT DO NOTHING RETURNING user_id, friend_id) "
+            + "SELECT friend_id FROM inserted WHERE user_id = ? ORDER BY friend_id";
+
+    private final UserRepository userRepository;
+    private final UserLibraryRepository libraryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxCachedUsers;
+
+    private final Map<Long, LongIdSet> adjacency = new ConcurrentHashMap<>();
+    // Bumped on every invalidation; a load that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+    // Held to bump the generation and drop lists, and to check it and cache a load, so neither interleaves
+    private final ReentrantLock cacheLock = new ReentrantLock();
+
+    public FriendGraphService(UserRepository userRepository,
+            UserLibraryRepository libraryRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${friends.cache.max-users:200000}") int maxCachedUsers) {
+        this.userRepository = userRepository;
+        this.libraryRepository = libraryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxCachedUsers = maxCachedUsers;
+    }
+
+    /**
+     * A user's friends as a sorted ID set; treat it as read-only
+     */
+    @Transactional(readOnly = true)
+    public LongIdSet friendsOf(long userId) {
+        LongIdSet friends = adjacency.get(userId);
+        if (friends != null) {
+            return friends;
+        }
+        return load(List.of(userId)).get(userId);
+    }
+
+    /**
+     * Make two users friends in both directions, returns false if they already were
+     */
+    public boolean connect(long userId, long friendId) {
+        int added = userRepository.addFriendship(userId, friendId);
+        invalidateAfterCommit(List.of(userId, friendId));
+        return added > 0;
+    }
+
+    /**
+     * Befriend many users at once in a single statement, whatever the number of IDs.
+     * The IDs must exist and not include the user. Returns the IDs that were not already friends.
+     */
+    public List<Long> connectAll(long userId, Collection<Long> friendIds) {
+        if (friendIds.isEmpty()) {
+            return List.of();
+        }
+        Long[] ids = friendIds.stream().distinct().toArray(Long[]::new);
+        List<Long> added = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CONNECT_ALL_SQL);
+            Array array = con.createArrayOf("bigint", ids);
+            ps.setLong(1, userId);
+            ps.setArray(2, array);
+            ps.setLong(3, userId);
+            ps.setArray(4, array);
+            ps.setLong(5, userId);
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+
+        // Every requested friend, not just the added ones: a pair that had only the user's row
+        // gets its reverse row inserted, which changes the friend's list but adds nothing here
+        List<Long> touched = new ArrayList<>(Arrays.asList(ids));
+        touched.add(userId);
+        invalidateAfterCommit(touched);
+        return added;
+    }
+
+    /**
+     * End a friendship in both directions, returns false if there was none
+     */
+    public boolean disconnect(long userId, long friendId) {
+        int removed = userRepository.removeFriendship(userId, friendId);
+        invalidateAfterCommit(List.of(userId, friendId));
+        return removed > 0;
+    }
+
+    @Transactional(readOnly = true)
+    public LongIdSet mutualFriends(long userId, long otherId) {
+        return friendsOf(userId).intersect(friendsOf(otherId));
+    }
+
+    /**
+     * Friends of friends who are not yet friends of the user, most mutual friends first.
+     * Returns parallel arrays of user IDs and their mutual friend counts.
+     */
+    @Transactional(readOnly = true)
+    public Suggestions suggestFriends(long userId, int limit) {
+        LongIdSet friends = friendsOf(userId);
+        Map<Long, LongIdSet> friendsOfFriends = load(friends.toList());
+
+        int expected = 0;
+        for (LongIdSet set : friendsOfFriends.values()) {
+            expected += set.size();
+        }
+        LongCounter counter = new LongCounter(expected);
+        for (LongIdSet set : friendsOfFriends.values()) {
+            set.forEach(counter::increment);
+        }
+        long[] ids = counter.top(limit, candidate -> candidate != userId && !friends.contains(candidate));
+        int[] mutualCounts = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            mutualCounts[i] = counter.get(ids[i]);
+        }
+        return new Suggestions(ids, mutualCounts);
+    }
+
+    /**
+     * The user's friends who have a game in their library
+     */
+    @Transactional(readOnly = true)
+    public List<Long> friendsOwning(long userId, long gameId) {
+        LongIdSet friends = friendsOf(userId);
+        if (friends.isEmpty()) {
+            return List.of();
+        }
+        return libraryRepository.findOwnersAmong(gameId, friends.toList());
+    }
+
+    // Cached sets for the given users, loading every missing one in a single query
+    private Map<Long, LongIdSet> load(List<Long> userIds) {
+        Map<Long, LongIdSet> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : userIds) {
+            LongIdSet cached = adjacency.get(id);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long startGeneration = generation.get();
+        Map<Long, LongIdSet> loaded = new HashMap<>();
+        for (Long id : missing) {
+            loaded.put(id, new LongIdSet());
+        }
+        Long[] ids = missing.toArray(Long[]::new);
+        // Rows arrive sorted, so every add appends to the end of its set
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LOAD_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            return ps;
+        }, rs -> {
+            loaded.get(rs.getLong(1)).add(rs.getLong(2));
+        });
+
+        result.putAll(loaded);
+        cacheLock.lock();
+        try {
+            if (generation.get() == startGeneration) {
+                makeRoom(loaded.size());
+                adjacency.putAll(loaded);
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+        return result;
+    }
+
+    // Keep the cache bounded by dropping arbitrary entries; they are reloaded on demand
+    private void makeRoom(int incoming) {
+        int excess = adjacency.size() + incoming - maxCachedUsers;
+        Iterator<Long> keys = adjacency.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private void invalidateAfterCommit(List<Long> userIds) {
+        Runnable invalidate = () -> {
+            cacheLock.lock();
+            try {
+                generation.incrementAndGet();
+                userIds.forEach(adjacency::remove);
+            } finally {
+                cacheLock.unlock();
+            }
+        };
+        // Drop now so this transaction reads its own change, and again once it ends (committed or
+        // not) in case another request, or this one, cached a list that no longer holds
+        invalidate.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate.run();
+                }
+            });
+        }
+    }
+
+    public record Suggestions(long[] userIds, int[] mutualFriends) {
+    }
+}
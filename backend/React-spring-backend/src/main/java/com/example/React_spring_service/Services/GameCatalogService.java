@@ -0,0 +1,146 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.DTO.CursorPage;
+import com.example.React_spring_service.DTO.GameCardDTO;
+import com.example.React_spring_service.Enum.CatalogSort;
+import com.example.React_spring_service.Util.KeysetCursor;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The storefront catalog: game cards filtered, sorted and paged with a keyset cursor.
+ *
+ * Filters and sort vary per request, so the query is assembled here. It selects only the
+ * card columns straight into GameCardDTO, never loading Game entities or their description,
+ * developer logs and rewards.
+ *
+ * Games with a sort key come first, ordered by (key, id) both ascending or both descending,
+ * so one (key, id) index serves every sort, read backwards for the descending ones. Each
+ * page continues from a row comparison against the last card's (key, id), which the index
+ * seeks to directly, so a deep page costs the same as the first. Games without the key
+ * follow in ID order and are paged on the ID alone.
+ */
+@Service
+@Transactional(readOnly = true)
+public class GameCatalogService {
+
+    private static final String SELECT_CARD = "SELECT new com.example.React_spring_service.DTO.GameCardDTO("
+            + "g.id, g.name, g.developer, g.publisher, g.rating, g.profileImage, g.backgroundImage, "
+            + "g.price, g.salePercent, g.onSale, g.dateReleased, g.tags) FROM Game g WHERE ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Optional filters; null means no restriction. The developer matches case-insensitively.
+     */
+    public record CatalogFilter(Boolean onSale, Double minPrice, Double maxPrice, String developer) {
+    }
+
+    /**
+     * One page of cards and the cursor of the next, throws IllegalArgumentException if the
+     * cursor is malformed or was issued for another sort
+     */
+    public CursorPage<GameCardDTO> getCatalogPage(CatalogFilter filter, CatalogSort sort, String cursor, int limit) {
+        Object lastKey = null;
+        Long lastId = null;
+        if (cursor != null) {
+            String[] parts = KeysetCursor.decode(cursor, 3);
+            if (!parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException("Cursor was issued for sort " + parts[0]);
+            }
+            lastKey = parseKey(sort, parts[1], cursor);
+            lastId = Long.valueOf(parts[2]);
+        }
+
+        String key = "g." + sort.attribute();
+        String direction = sort.descending() ? " DESC" : " ASC";
+        List<GameCardDTO> rows = new ArrayList<>();
+
+        // Games with the key, unless the previous page already reached the ones without it
+        if (cursor == null || lastKey != null) {
+            Map<String, Object> params = new LinkedHashMap<>();
+            StringBuilder where = filters(filter, params).append(key).append(" IS NOT NULL");
+            if (lastKey != null) {
+                where.append(" AND (").append(key).append(", g.id) ").append(sort.descending() ? "<" : ">")
+                        .append(" (:lastKey, :lastId)");
+                params.put("lastKey", lastKey);
+                params.put("lastId", lastId);
+            }
+            rows.addAll(cards(where.append(" ORDER BY ").append(key).append(direction)
+                    .append(", g.id").append(direction), params, limit + 1));
+        }
+
+        // Then the games without it, to fill what is left of the page
+        if (rows.size() <= limit) {
+            Map<String, Object> params = new LinkedHashMap<>();
+            StringBuilder where = filters(filter, params).append(key).append(" IS NULL");
+            if (cursor != null && lastKey == null) {
+                where.append(" AND g.id > :lastId");
+                params.put("lastId", lastId);
+            }
+            rows.addAll(cards(where.append(" ORDER BY g.id ASC"), params, limit + 1 - rows.size()));
+        }
+        return CursorPage.of(rows, limit, card -> KeysetCursor.encode(sort.name(), keyOf(card, sort), card.getId()));
+    }
+
+    // The filter conditions, each followed by AND, with their parameters added to params
+    private static StringBuilder filters(CatalogFilter filter, Map<String, Object> params) {
+        StringBuilder where = new StringBuilder(SELECT_CARD);
+        if (filter.onSale() != null) {
+            where.append("g.onSale = :onSale AND ");
+            params.put("onSale", filter.onSale());
+        }
+        if (filter.minPrice() != null) {
+            where.append("g.price >= :minPrice AND ");
+            params.put("minPrice", filter.minPrice());
+        }
+        if (filter.maxPrice() != null) {
+            where.append("g.price <= :maxPrice AND ");
+            params.put("maxPrice", filter.maxPrice());
+        }
+        if (filter.developer() != null && !filter.developer().isBlank()) {
+            where.append("lower(g.developer) = :developer AND ");
+            params.put("developer", filter.developer().trim().toLowerCase(Locale.ROOT));
+        }
+        return where;
+    }
+
+    private List<GameCardDTO> cards(CharSequence hql, Map<String, Object> params, int maxResults) {
+        TypedQuery<GameCardDTO> query = entityManager.createQuery(hql.toString(), GameCardDTO.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(maxResults).getResultList();
+    }
+
+    private static Object keyOf(GameCardDTO card, CatalogSort sort) {
+        return switch (sort.attribute()) {
+            case "price" -> card.getPrice();
+            case "rating" -> card.getRating();
+            default -> card.getDateReleased();
+        };
+    }
+
+    // The sort key of a cursor, null for a game without one
+    private static Object parseKey(CatalogSort sort, String rawKey, String cursor) {
+        if (rawKey.isEmpty()) {
+            return null;
+        }
+        try {
+            return sort.attribute().equals("dateReleased") ? LocalDate.parse(rawKey) : Double.valueOf(rawKey);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
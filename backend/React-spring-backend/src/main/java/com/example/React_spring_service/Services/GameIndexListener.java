@@ -0,0 +1,38 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.Entities.Game;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Keeps the in-memory game indexes (tags and full text) in step with every write to a Game,
+ * whichever code path saves it. Hibernate creates this through Spring, so the indexes are
+ * looked up lazily to stay out of the EntityManagerFactory's own dependencies.
+ */
+public class GameIndexListener {
+
+    private final ObjectProvider<GameTagIndex> tagIndex;
+    private final ObjectProvider<GameSearchIndex> searchIndex;
+
+    public GameIndexListener(ObjectProvider<GameTagIndex> tagIndex, ObjectProvider<GameSearchIndex> searchIndex) {
+        this.tagIndex = tagIndex;
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void saved(Game game) {
+        tagIndex.ifAvailable(index -> index.put(game.getId(), game.getTags()));
+        searchIndex.ifAvailable(index -> index.put(game.getId(), game.getName(), game.getDescription(),
+                game.getDeveloper(), game.getPublisher(), game.getTags()));
+    }
+
+    @PostRemove
+    public void removed(Game game) {
+        tagIndex.ifAvailable(index -> index.remove(game.getId()));
+        searchIndex.ifAvailable(index -> index.remove(game.getId()));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.React_spring_service.Services;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.React_spring_service.Repositories.GameScoreRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically prunes raw game_scores attempts past the retention window.
+ * Attempts that hold a user's personal best are never deleted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameScoreRetentionJob {
+
+    private final GameScoreRepository gameScoreRepository;
+
+    @Value("${game-scores.retention.days:90}")
+    private int retentionDays;
+
+    @Value("${game-scores.retention.batch-size:5000}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${game-scores.retention.initial-delay-ms:300000}", fixedDelayString = "${game-scores.retention.interval-ms:21600000}")
+    public void prune() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = gameScoreRepository.deleteAttemptsBefore(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.info("Pruned " + total + " game score attempt(s) older than " + retentionDays + " days");
+        } else {
+            log.debug("Game score retention found nothing to prune");
+        }
+    }
+}
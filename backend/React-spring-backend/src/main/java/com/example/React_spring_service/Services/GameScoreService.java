@@ -2,36 +2,72 @@ package com.example.React_spring_service.Services;
 
 import com.example.React_spring_service.DTO.GameScoreDTO;
 import com.example.React_spring_service.DTO.LeaderboardEntryDTO;
+import com.example.React_spring_service.Entities.GamePersonalBest;
 import com.example.React_spring_service.Entities.GameScore;
 import com.example.React_spring_service.Entities.PlayableGame;
 import com.example.React_spring_service.Entities.User;
+import com.example.React_spring_service.Enum.LeaderboardWindow;
+import com.example.React_spring_service.Repositories.GamePersonalBestRepository;
 import com.example.React_spring_service.Repositories.GameScoreRepository;
 import com.example.React_spring_service.Repositories.PlayableGameRepository;
 import com.example.React_spring_service.Repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 @Service
 public class GameScoreService {
     
+    // One statement for a whole batch: the columns arrive as parallel arrays
+    private static final String INSERT_SCORES_SQL = "INSERT INTO game_scores (user_id, playable_game_id, score, level, timestamp) "
+            + "SELECT * FROM unnest(?::bigint[], ?::bigint[], ?::int[], ?::int[], ?::timestamp[]) "
+            + "RETURNING id, user_id, playable_game_id, score, level, timestamp";
+    
+    // Same rule as GamePersonalBestRepository.offer, for every attempt in a batch at once
+    private static final String OFFER_BESTS_SQL = "INSERT INTO game_personal_bests (user_id, playable_game_id, game_score_id, score, level, timestamp) "
+            + "SELECT DISTINCT ON (gs.user_id, gs.playable_game_id) gs.user_id, gs.playable_game_id, gs.id, gs.score, gs.level, gs.timestamp "
+            + "FROM game_scores gs WHERE gs.id = ANY(?::bigint[]) "
+            + "ORDER BY gs.user_id, gs.playable_game_id, gs.score DESC, gs.timestamp ASC, gs.id ASC "
+            + "ON CONFLICT (user_id, playable_game_id) DO UPDATE SET game_score_id = EXCLUDED.game_score_id, "
+            + "score = EXCLUDED.score, level = EXCLUDED.level, timestamp = EXCLUDED.timestamp "
+            + "WHERE EXCLUDED.score > game_personal_bests.score";
+    
     @Autowired
     private GameScoreRepository gameScoreRepository;
     
+    @Autowired
+    private GamePersonalBestRepository personalBestRepository;
+    
     @Autowired
     private PlayableGameRepository playableGameRepository;
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private LeaderboardEngine leaderboardEngine;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
     /**
-     * Submit a new game score
+     * Submit a new game score. The attempt is kept in the raw history and
+     * replaces the user's personal best for the game if it is higher.
      */
     @Transactional
     public GameScore submitScore(GameScoreDTO scoreDTO) {
@@ -48,23 +84,137 @@ public class GameScoreService {
                 .level(scoreDTO.getLevel())
                 .build();
         
-        return gameScoreRepository.save(gameScore);
+        GameScore saved = gameScoreRepository.save(gameScore);
+        personalBestRepository.offer(saved.getId());
+        leaderboardEngine.record(saved);
+        return saved;
+    }
+    
+    /**
+     * Whether the user and playable game of a submission exist, checked before
+     * a submission is accepted into the write-behind queue
+     */
+    @Transactional(readOnly = true)
+    public boolean canSubmit(GameScoreDTO scoreDTO) {
+        return userRepository.existsById(scoreDTO.getUserId())
+                && playableGameRepository.existsById(scoreDTO.getGameId());
     }
     
     /**
-     * Get leaderboard for a specific playable game
+     * Persist a batch of queued submissions (write-behind mode).
+     * Users and games are checked again with one query each; submissions whose user
+     * or game was deleted after they were queued are skipped. The rest are inserted with a single statement and
+     * offered to the personal bests table with another. Returns the number saved.
+     */
+    @Transactional
+    public int submitScores(List<GameScoreDTO> submissions) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> gameIds = new HashSet<>();
+        for (GameScoreDTO dto : submissions) {
+            userIds.add(dto.getUserId());
+            gameIds.add(dto.getGameId());
+        }
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, PlayableGame> games = playableGameRepository.findAllById(gameIds).stream()
+                .collect(Collectors.toMap(PlayableGame::getId, Function.identity()));
+        
+        List<GameScoreDTO> valid = submissions.stream()
+                .filter(dto -> users.containsKey(dto.getUserId()) && games.containsKey(dto.getGameId()))
+                .collect(Collectors.toList());
+        if (valid.isEmpty()) {
+            return 0;
+        }
+        
+        int size = valid.size();
+        Long[] userColumn = new Long[size];
+        Long[] gameColumn = new Long[size];
+        Integer[] scoreColumn = new Integer[size];
+        Integer[] levelColumn = new Integer[size];
+        Timestamp[] timestampColumn = new Timestamp[size];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < size; i++) {
+            GameScoreDTO dto = valid.get(i);
+            userColumn[i] = dto.getUserId();
+            gameColumn[i] = dto.getGameId();
+            scoreColumn[i] = dto.getScore();
+            levelColumn[i] = dto.getLevel();
+            timestampColumn[i] = now;
+        }
+        
+        List<GameScore> saved = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_SCORES_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", userColumn));
+            ps.setArray(2, con.createArrayOf("bigint", gameColumn));
+            ps.setArray(3, con.createArrayOf("integer", scoreColumn));
+            ps.setArray(4, con.createArrayOf("integer", levelColumn));
+            ps.setArray(5, con.createArrayOf("timestamp", timestampColumn));
+            return ps;
+        }, (rs, rowNum) -> GameScore.builder()
+                .id(rs.getLong("id"))
+                .user(users.get(rs.getLong("user_id")))
+                .playableGame(games.get(rs.getLong("playable_game_id")))
+                .score(rs.getInt("score"))
+                .level((Integer) rs.getObject("level"))
+                .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+                .build());
+        
+        Long[] savedIds = saved.stream().map(GameScore::getId).toArray(Long[]::new);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(OFFER_BESTS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", savedIds));
+            return ps;
+        });
+        saved.forEach(leaderboardEngine::record);
+        return saved.size();
+    }
+    
+    /**
+     * Get the all-time leaderboard for a specific playable game
      */
     public List<LeaderboardEntryDTO> getLeaderboard(Long playableGameId, int limit) {
-        List<GameScore> topScores = gameScoreRepository.findTopScoresByGameId(
+        return getLeaderboard(playableGameId, LeaderboardWindow.ALL_TIME, limit);
+    }
+    
+    /**
+     * Get the leaderboard for a specific playable game and time window, one entry per player.
+     * Served from the in-memory LeaderboardEngine; the database is only queried
+     * while the engine is still warming up after startup.
+     */
+    public List<LeaderboardEntryDTO> getLeaderboard(Long playableGameId, LeaderboardWindow window, int limit) {
+        if (leaderboardEngine.isReady()) {
+            return leaderboardEngine.top(playableGameId, window, limit);
+        }
+        
+        if (window != LeaderboardWindow.ALL_TIME) {
+            List<GameScore> topScores = gameScoreRepository.findTopScoresByGameIdSince(
+                    playableGameId, window.start(LocalDateTime.now()), limit);
+            return IntStream.range(0, topScores.size())
+                    .mapToObj(index -> {
+                        GameScore score = topScores.get(index);
+                        return LeaderboardEntryDTO.builder()
+                                .rank(index + 1)
+                                .userId(score.getUser().getId())
+                                .displayName(score.getUser().getDisplayName())
+                                .score(score.getScore())
+                                .level(score.getLevel())
+                                .timestamp(score.getTimestamp())
+                                .build();
+                    })
+                    .collect(Collectors.toList());
+        }
+        
+        List<GamePersonalBest> topScores = personalBestRepository.findTopByGameId(
                 playableGameId, 
                 PageRequest.of(0, limit)
         );
         
         return IntStream.range(0, topScores.size())
                 .mapToObj(index -> {
-                    GameScore score = topScores.get(index);
+                    GamePersonalBest score = topScores.get(index);
                     return LeaderboardEntryDTO.builder()
                             .rank(index + 1)
+                            .userId(score.getUser().getId())
                             .displayName(score.getUser().getDisplayName())
                             .score(score.getScore())
                             .level(score.getLevel())
@@ -74,11 +224,33 @@ public class GameScoreService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * True once leaderboards are served from memory (rank queries need this)
+     */
+    public boolean isLeaderboardReady() {
+        return leaderboardEngine.isReady();
+    }
+    
+    /**
+     * A user's rank among all players of a playable game in a time window, by their best score
+     */
+    public Optional<LeaderboardEntryDTO> getUserRank(Long playableGameId, LeaderboardWindow window, Long userId) {
+        return leaderboardEngine.rankOf(playableGameId, window, userId);
+    }
+    
+    /**
+     * The players ranked within radius places of a user in a time window, including the user
+     */
+    public List<LeaderboardEntryDTO> getLeaderboardAround(Long playableGameId, LeaderboardWindow window, Long userId,
+            int radius) {
+        return leaderboardEngine.around(playableGameId, window, userId, radius);
+    }
+    
     /**
      * Get user's best score for a specific playable game
      */
     public Optional<GameScore> getUserBestScore(Long userId, Long playableGameId) {
-        return gameScoreRepository.findTopByUserIdAndPlayableGameIdOrderByScoreDesc(userId, playableGameId);
+        return personalBestRepository.findBestScore(userId, playableGameId);
     }
     
     /**
@@ -110,13 +282,36 @@ public class GameScoreService {
     }
     
     /**
-     * Delete a score
+     * Delete a score. If it was the user's personal best, the best is
+     * recomputed from their remaining attempts.
      */
     @Transactional
     public void deleteScore(Long scoreId) {
-        if (!gameScoreRepository.existsById(scoreId)) {
-            throw new RuntimeException("Score not found with ID: " + scoreId);
+        GameScore score = gameScoreRepository.findById(scoreId)
+                .orElseThrow(() -> new RuntimeException("Score not found with ID: " + scoreId));
+        boolean wasBest = personalBestRepository.deleteByGameScoreId(scoreId) > 0;
+        gameScoreRepository.delete(score);
+        gameScoreRepository.flush();
+        
+        Long userId = score.getUser().getId();
+        Long playableGameId = score.getPlayableGame().getId();
+        Map<LeaderboardWindow, GameScore> nextBest = new EnumMap<>(LeaderboardWindow.class);
+        if (wasBest) {
+            personalBestRepository.rebuild(userId, playableGameId);
+            personalBestRepository.findBestScore(userId, playableGameId)
+                    .ifPresent(best -> nextBest.put(LeaderboardWindow.ALL_TIME, best));
+        }
+        // Daily and weekly boards only hold recent scores, so only recent deletes can affect them
+        LocalDateTime now = LocalDateTime.now();
+        for (LeaderboardWindow window : List.of(LeaderboardWindow.DAILY, LeaderboardWindow.WEEKLY)) {
+            LocalDateTime since = window.start(now);
+            if (!score.getTimestamp().isBefore(since)) {
+                gameScoreRepository
+                        .findFirstByUserIdAndPlayableGameIdAndTimestampGreaterThanEqualOrderByScoreDescTimestampAscIdAsc(
+                                userId, playableGameId, since)
+                        .ifPresent(best -> nextBest.put(window, best));
+            }
         }
-        gameScoreRepository.deleteById(scoreId);
+        leaderboardEngine.remove(score, nextBest);
     }
 }
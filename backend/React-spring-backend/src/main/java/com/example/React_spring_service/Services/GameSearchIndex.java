@@ -0,0 +1,565 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.Repositories.GameRepository;
+import com.example.React_spring_service.Repositories.GameRepository.GameText;
+import com.example.React_spring_service.Util.AfterCommit;
+import com.example.React_spring_service.Util.TermTrie;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Embedded full-text index over the game catalog: name, description, developer,
+ * publisher and tags.
+ *
+ * Every distinct word maps to a postings list of (document, weighted term frequency),
+ * where a word in the name counts more than one in the tags, company names or
+ * description. search() ranks documents matching every query word with BM25, the last
+ * word also matching as a prefix so results follow the user's typing. suggest() completes
+ * game names from a trie of name words that tolerates a typo or two in what was typed.
+ *
+ * A saved game gets a new document and its old one is marked dead; dead documents are
+ * skipped by queries and dropped once they make up a quarter of the index. The index is
+ * warmed from the games table on startup and kept current by GameIndexListener.
+ */
+@Service
+@Slf4j
+public class GameSearchIndex {
+
+    private static final float NAME_BOOST = 3f;
+    private static final float TAG_BOOST = 2f;
+    private static final float COMPANY_BOOST = 1.5f;
+    private static final float DESCRIPTION_BOOST = 1f;
+
+    // BM25 term-frequency saturation and length normalization
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Completions of a prefix count for less than the word typed in full
+    private static final float PREFIX_WEIGHT = 0.5f;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for",
+            "from", "in", "into", "is", "it", "its", "of", "on", "or", "that", "the", "this", "to", "with");
+
+    private final GameRepository gameRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Postings> namePostings = new HashMap<>();
+    private TermTrie terms = new TermTrie();
+    private TermTrie nameTerms = new TermTrie();
+
+    // Per document (dense, in insertion order)
+    private long[] gameIds = new long[1024];
+    private String[] names = new String[1024];
+    private float[] lengths = new float[1024];
+    private int documents = 0;
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> documentByGame = new HashMap<>();
+    private double totalLength = 0;
+
+    // Games written while warm() was reading; its older copy of them is skipped
+    private Set<Long> touchedWhileWarming = null;
+    private volatile boolean ready = false;
+
+    public GameSearchIndex(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warm() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            touchedWhileWarming = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long count = 0;
+        try (Stream<GameText> rows = gameRepository.streamAllText()) {
+            Iterator<GameText> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                GameText row = iterator.next();
+                lock.writeLock().lock();
+                try {
+                    if (!touchedWhileWarming.contains(row.getId())) {
+                        apply(row.getId(), row.getName(), row.getDescription(), row.getDeveloper(), row.getPublisher(),
+                                row.getTags());
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                count++;
+            }
+        }
+
+        int words;
+        lock.writeLock().lock();
+        try {
+            touchedWhileWarming = null;
+            words = postings.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Search index warmed with " + count + " games and " + words + " words in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * True once warm() has finished; until then results would be incomplete
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Up to limit games matching every word of the query (the last one also as a prefix),
+     * most relevant first
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> words = tokenize(query, true);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // Each query word is a group of index words: itself, plus completions for the last one
+            List<Map<String, Float>> groups = new ArrayList<>();
+            for (int i = 0; i < words.size(); i++) {
+                Map<String, Float> group = new HashMap<>();
+                String word = words.get(i);
+                if (postings.containsKey(word)) {
+                    group.put(word, 1f);
+                }
+                if (i == words.size() - 1) {
+                    for (TermTrie.Match match : terms.matchPrefix(word, 0, MAX_PREFIX_EXPANSIONS)) {
+                        group.putIfAbsent(match.term(), PREFIX_WEIGHT);
+                    }
+                }
+                if (group.isEmpty()) {
+                    return List.of();
+                }
+                groups.add(group);
+            }
+            // Rarest group first: only its live documents are candidates, and each later group is
+            // intersected with them, skipping through its postings instead of scoring all of them
+            groups.sort(Comparator.comparingLong(this::postingCount));
+            double averageLength = totalLength / Math.max(1, documentByGame.size());
+
+            // Candidates in document order and their scores so far, sized by the rarest group
+            int[] candidates = new int[0];
+            float[] scores = new float[0];
+            int count = 0;
+            for (Map.Entry<String, Float> entry : groups.get(0).entrySet()) {
+                Postings list = postings.get(entry.getKey());
+                float idf = idf(list.size);
+                int[] unionDocuments = new int[count + list.size];
+                float[] unionScores = new float[count + list.size];
+                int union = 0;
+                int c = 0;
+                int p = 0;
+                while (c < count || p < list.size) {
+                    if (p == list.size || (c < count && candidates[c] < list.documents[p])) {
+                        unionDocuments[union] = candidates[c];
+                        unionScores[union++] = scores[c++];
+                    } else if (!live.get(list.documents[p])) {
+                        p++;
+                    } else {
+                        int doc = list.documents[p];
+                        float score = entry.getValue() * idf * norm(list.weights[p++], doc, averageLength);
+                        if (c < count && candidates[c] == doc) {
+                            score += scores[c++];
+                        }
+                        unionDocuments[union] = doc;
+                        unionScores[union++] = score;
+                    }
+                }
+                candidates = unionDocuments;
+                scores = unionScores;
+                count = union;
+            }
+            for (int g = 1; g < groups.size() && count > 0; g++) {
+                // A candidate stays if any word of the group is in it
+                float[] gained = new float[count];
+                boolean[] found = new boolean[count];
+                for (Map.Entry<String, Float> entry : groups.get(g).entrySet()) {
+                    Postings list = postings.get(entry.getKey());
+                    float idf = idf(list.size);
+                    int p = 0;
+                    for (int c = 0; c < count && p < list.size; c++) {
+                        p = list.seek(candidates[c], p);
+                        if (p < list.size && list.documents[p] == candidates[c]) {
+                            gained[c] += entry.getValue() * idf * norm(list.weights[p], candidates[c], averageLength);
+                            found[c] = true;
+                        }
+                    }
+                }
+                int kept = 0;
+                for (int c = 0; c < count; c++) {
+                    if (found[c]) {
+                        candidates[kept] = candidates[c];
+                        scores[kept++] = scores[c] + gained[c];
+                    }
+                }
+                count = kept;
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(Hit.ORDER.reversed());
+            for (int c = 0; c < count; c++) {
+                top.add(new Hit(gameIds[candidates[c]], scores[c]));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(Hit.ORDER);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit game names completing what was typed. Earlier words must appear in the
+     * name; the last is a prefix allowed one typo from 3 characters and two from 6.
+     * Closest first, then names starting with the match, then shorter names.
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        List<String> words = tokenize(query, false);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        String last = words.get(words.size() - 1);
+        int maxEdits = last.length() < 3 ? 0 : last.length() < 6 ? 1 : 2;
+        lock.readLock().lock();
+        try {
+            BitSet required = null;
+            for (String word : words.subList(0, words.size() - 1)) {
+                Postings list = namePostings.get(word);
+                if (list == null) {
+                    return List.of();
+                }
+                BitSet documentsWithWord = list.toBitSet();
+                if (required == null) {
+                    required = documentsWithWord;
+                } else {
+                    required.and(documentsWithWord);
+                }
+            }
+
+            record Candidate(int doc, int edits, boolean leading) {
+            }
+            Map<Integer, Candidate> best = new HashMap<>();
+            for (TermTrie.Match match : nameTerms.matchPrefix(last, maxEdits, MAX_PREFIX_EXPANSIONS)) {
+                Postings list = namePostings.get(match.term());
+                for (int p = 0; p < list.size; p++) {
+                    int doc = list.documents[p];
+                    if (!live.get(doc) || (required != null && !required.get(doc))) {
+                        continue;
+                    }
+                    boolean leading = list.weights[p] > 0;
+                    Candidate current = best.get(doc);
+                    if (current == null || match.edits() < current.edits()
+                            || (match.edits() == current.edits() && leading && !current.leading())) {
+                        best.put(doc, new Candidate(doc, match.edits(), leading));
+                    }
+                }
+            }
+
+            return best.values().stream()
+                    .sorted(Comparator.comparingInt(Candidate::edits)
+                            .thenComparing(Candidate::leading, Comparator.reverseOrder())
+                            .thenComparingInt(candidate -> names[candidate.doc()].length())
+                            .thenComparing(candidate -> names[candidate.doc()]))
+                    .limit(limit)
+                    .map(candidate -> new Suggestion(gameIds[candidate.doc()], names[candidate.doc()]))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index a created or updated game, replacing what was indexed for it.
+     * Inside a transaction this waits for the commit.
+     */
+    public void put(long gameId, String name, String description, String developer, String publisher,
+            Collection<String> tags) {
+        List<String> tagsCopy = tags == null ? List.of() : new ArrayList<>(tags);
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                touch(gameId);
+                apply(gameId, name, description, developer, publisher, tagsCopy);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Forget a deleted game
+     */
+    public void remove(long gameId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                touch(gameId);
+                unindex(gameId);
+                compactIfSparse();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void touch(long gameId) {
+        if (touchedWhileWarming != null) {
+            touchedWhileWarming.add(gameId);
+        }
+    }
+
+    // Callers hold the write lock
+    private void apply(long gameId, String name, String description, String developer, String publisher,
+            Collection<String> tags) {
+        unindex(gameId);
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        length += count(frequencies, name, NAME_BOOST);
+        length += count(frequencies, developer, COMPANY_BOOST);
+        length += count(frequencies, publisher, COMPANY_BOOST);
+        length += count(frequencies, description, DESCRIPTION_BOOST);
+        if (tags != null) {
+            for (String tag : tags) {
+                length += count(frequencies, tag, TAG_BOOST);
+            }
+        }
+
+        int doc = newDocument(gameId, name == null ? "" : name, length);
+        frequencies.forEach((word, weight) -> {
+            postings.computeIfAbsent(word, w -> new Postings()).add(doc, weight);
+            terms.add(word);
+        });
+        // Name words keep every word, stop words included; weight 1 marks the name's first word
+        List<String> nameWords = tokenize(name, false);
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < nameWords.size(); i++) {
+            String word = nameWords.get(i);
+            if (seen.add(word)) {
+                namePostings.computeIfAbsent(word, w -> new Postings()).add(doc, i == 0 ? 1 : 0);
+                nameTerms.add(word);
+            }
+        }
+        compactIfSparse();
+    }
+
+    private static float count(Map<String, Float> frequencies, String text, float boost) {
+        List<String> words = tokenize(text, true);
+        for (String word : words) {
+            frequencies.merge(word, boost, Float::sum);
+        }
+        return words.size() * boost;
+    }
+
+    private int newDocument(long gameId, String name, float length) {
+        if (documents == gameIds.length) {
+            gameIds = Arrays.copyOf(gameIds, documents * 2);
+            names = Arrays.copyOf(names, documents * 2);
+            lengths = Arrays.copyOf(lengths, documents * 2);
+        }
+        int doc = documents++;
+        gameIds[doc] = gameId;
+        names[doc] = name;
+        lengths[doc] = length;
+        live.set(doc);
+        documentByGame.put(gameId, doc);
+        totalLength += length;
+        return doc;
+    }
+
+    private void unindex(long gameId) {
+        Integer doc = documentByGame.remove(gameId);
+        if (doc != null) {
+            live.clear(doc);
+            totalLength -= lengths[doc];
+            names[doc] = null;
+        }
+    }
+
+    /**
+     * Drop dead documents once they are a quarter of the index, renumbering the live ones
+     * in order so every postings list stays sorted
+     */
+    private void compactIfSparse() {
+        int alive = documentByGame.size();
+        if (documents - alive <= Math.max(1024, alive / 3)) {
+            return;
+        }
+        int[] renumbered = new int[documents];
+        int next = 0;
+        for (int doc = 0; doc < documents; doc++) {
+            renumbered[doc] = live.get(doc) ? next++ : -1;
+        }
+        for (int doc = 0; doc < documents; doc++) {
+            if (renumbered[doc] >= 0) {
+                gameIds[renumbered[doc]] = gameIds[doc];
+                names[renumbered[doc]] = names[doc];
+                lengths[renumbered[doc]] = lengths[doc];
+            }
+        }
+        postings.values().removeIf(list -> list.renumber(renumbered));
+        namePostings.values().removeIf(list -> list.renumber(renumbered));
+        // Words only dead documents had must not be offered as completions any more
+        terms = new TermTrie();
+        postings.keySet().forEach(terms::add);
+        nameTerms = new TermTrie();
+        namePostings.keySet().forEach(nameTerms::add);
+        documents = next;
+        Arrays.fill(names, next, names.length, null);
+        live.clear();
+        live.set(0, next);
+        documentByGame.replaceAll((gameId, doc) -> renumbered[doc]);
+        log.info("Compacted the search index to " + next + " games");
+    }
+
+    private long postingCount(Map<String, Float> group) {
+        long total = 0;
+        for (String word : group.keySet()) {
+            total += postings.get(word).size;
+        }
+        return total;
+    }
+
+    // BM25 weight of a word's (boosted) frequency in a document
+    private float norm(float frequency, int doc, double averageLength) {
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * (float) (lengths[doc] / averageLength)));
+    }
+
+    private float idf(int documentFrequency) {
+        int n = Math.max(1, documentByGame.size());
+        return (float) Math.log(1 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    /**
+     * Lowercased words of letters and digits with accents removed, optionally without stop words
+     */
+    static List<String> tokenize(String text, boolean dropStopWords) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return words;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            } else if (!word.isEmpty()) {
+                String token = word.toString();
+                if (!dropStopWords || !STOP_WORDS.contains(token)) {
+                    words.add(token);
+                }
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Documents containing one word, in document order, with the word's weighted frequency in each
+     */
+    private static final class Postings {
+        int[] documents = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        void add(int doc, float weight) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            documents[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        // First position from from on whose document is target or after it: gallop, then bisect
+        int seek(int target, int from) {
+            if (from >= size || documents[from] >= target) {
+                return from;
+            }
+            int low = from;
+            int step = 1;
+            int high = from + 1;
+            while (high < size && documents[high] < target) {
+                low = high;
+                step <<= 1;
+                high = low + step;
+            }
+            int index = Arrays.binarySearch(documents, low + 1, Math.min(high, size), target);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        BitSet toBitSet() {
+            BitSet set = new BitSet();
+            for (int p = 0; p < size; p++) {
+                set.set(documents[p]);
+            }
+            return set;
+        }
+
+        // Returns true when no live document is left
+        boolean renumber(int[] renumbered) {
+            int kept = 0;
+            for (int p = 0; p < size; p++) {
+                int doc = renumbered[documents[p]];
+                if (doc >= 0) {
+                    documents[kept] = doc;
+                    weights[kept] = weights[p];
+                    kept++;
+                }
+            }
+            size = kept;
+            return size == 0;
+        }
+    }
+
+    /**
+     * A matching game and its relevance score
+     */
+    public record Hit(long gameId, float score) {
+        static final Comparator<Hit> ORDER = Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparingLong(Hit::gameId);
+    }
+
+    /**
+     * A game whose name completes the typed text
+     */
+    public record Suggestion(long gameId, String name) {
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.Repositories.GameRepository;
+import com.example.React_spring_service.Repositories.GameRepository.GameTags;
+import com.example.React_spring_service.Util.AfterCommit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index from tag to the set of games carrying it.
+ *
+ * Each tag maps to a bitmap indexed by game ID, so an AND / OR / NOT filter is a handful
+ * of word-wise operations over the catalog and facet counts are one intersection per tag,
+ * all without touching the database. Tags match case-insensitively; facets use the
+ * spelling the tag was first seen with. The index is warmed from the games table on
+ * startup and kept current by GameIndexListener as games are saved or deleted.
+ */
+@Service
+@Slf4j
+public class GameTagIndex {
+
+    private final GameRepository gameRepository;
+
+    private final Map<String, BitSet> gamesByTag = new HashMap<>();
+    private final Map<String, String> labels = new HashMap<>();
+    private final Map<Long, Set<String>> tagsByGame = new HashMap<>();
+    private final BitSet indexed = new BitSet();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Games written while warm() was reading; its older copy of them is skipped
+    private Set<Long> touchedWhileWarming = null;
+    private volatile boolean ready = false;
+
+    public GameTagIndex(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warm() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            touchedWhileWarming = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<GameTags> rows = gameRepository.findAllTags();
+        int tags;
+
+        lock.writeLock().lock();
+        try {
+            for (GameTags row : rows) {
+                if (!touchedWhileWarming.contains(row.getId())) {
+                    apply(row.getId(), row.getTags());
+                }
+            }
+            touchedWhileWarming = null;
+            tags = gamesByTag.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Tag index warmed with " + rows.size() + " games and " + tags + " tags in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * True once warm() has finished; until then results would be incomplete
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Games matching every tag in all, at least one in any (when given) and none in none,
+     * by ascending ID. Returns up to limit IDs greater than afterId, the total number of
+     * matches, and the facetLimit most common tags among all matches with their counts.
+     */
+    public Result search(Collection<String> all, Collection<String> any, Collection<String> none,
+            long afterId, int limit, int facetLimit) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) indexed.clone();
+            for (String tag : all) {
+                BitSet games = gamesByTag.get(normalize(tag));
+                if (games == null) {
+                    return new Result(new long[0], 0, Map.of());
+                }
+                matches.and(games);
+            }
+            if (!any.isEmpty()) {
+                BitSet union = new BitSet();
+                for (String tag : any) {
+                    BitSet games = gamesByTag.get(normalize(tag));
+                    if (games != null) {
+                        union.or(games);
+                    }
+                }
+                matches.and(union);
+            }
+            for (String tag : none) {
+                BitSet games = gamesByTag.get(normalize(tag));
+                if (games != null) {
+                    matches.andNot(games);
+                }
+            }
+
+            long[] page = new long[Math.min(limit, matches.cardinality())];
+            int count = 0;
+            int from = afterId < 0 ? 0 : (int) Math.min(afterId + 1, Integer.MAX_VALUE);
+            for (int id = matches.nextSetBit(from); id >= 0 && count < page.length; id = matches.nextSetBit(id + 1)) {
+                page[count++] = id;
+            }
+            return new Result(count == page.length ? page : Arrays.copyOf(page, count),
+                    matches.cardinality(), facets(matches, facetLimit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Integer> facets(BitSet matches, int facetLimit) {
+        if (facetLimit <= 0 || matches.isEmpty()) {
+            return Map.of();
+        }
+        record Facet(String label, int count) {
+        }
+        List<Facet> counts = new ArrayList<>();
+        gamesByTag.forEach((tag, games) -> {
+            BitSet both = (BitSet) games.clone();
+            both.and(matches);
+            int count = both.cardinality();
+            if (count > 0) {
+                counts.add(new Facet(labels.get(tag), count));
+            }
+        });
+        counts.sort(Comparator.comparingInt(Facet::count).reversed().thenComparing(Facet::label));
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (Facet facet : counts.subList(0, Math.min(facetLimit, counts.size()))) {
+            result.put(facet.label(), facet.count());
+        }
+        return result;
+    }
+
+    /**
+     * Index a created or updated game's tags, replacing what was indexed for it.
+     * Inside a transaction this waits for the commit.
+     */
+    public void put(long gameId, Collection<String> tags) {
+        List<String> copy = tags == null ? List.of() : new ArrayList<>(tags);
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                touch(gameId);
+                apply(gameId, copy);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Forget a deleted game
+     */
+    public void remove(long gameId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                touch(gameId);
+                unindex(gameId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void touch(long gameId) {
+        if (touchedWhileWarming != null) {
+            touchedWhileWarming.add(gameId);
+        }
+    }
+
+    // Callers hold the write lock
+    private void apply(long gameId, Collection<String> tags) {
+        if (gameId < 0 || gameId > Integer.MAX_VALUE) {
+            log.warn("Game " + gameId + " is outside the tag index's ID range and will not be searchable by tag");
+            return;
+        }
+        unindex(gameId);
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag == null || tag.isBlank()) {
+                    continue;
+                }
+                String key = normalize(tag);
+                if (normalized.add(key)) {
+                    labels.putIfAbsent(key, tag.trim());
+                    gamesByTag.computeIfAbsent(key, k -> new BitSet()).set((int) gameId);
+                }
+            }
+        }
+        tagsByGame.put(gameId, normalized);
+        indexed.set((int) gameId);
+    }
+
+    private void unindex(long gameId) {
+        Set<String> previous = tagsByGame.remove(gameId);
+        if (previous == null) {
+            return;
+        }
+        for (String key : previous) {
+            BitSet games = gamesByTag.get(key);
+            games.clear((int) gameId);
+            if (games.isEmpty()) {
+                gamesByTag.remove(key);
+                labels.remove(key);
+            }
+        }
+        indexed.clear((int) gameId);
+    }
+
+    private static String normalize(String tag) {
+        return tag.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One page of matching game IDs, the total match count and tag facets (label to count, most common first)
+     */
+    public record Result(long[] ids, int total, Map<String, Integer> facets) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.React_spring_service.Services;
 
+import com.example.React_spring_service.DTO.CursorPage;
 import com.example.React_spring_service.Entities.*;
 import com.example.React_spring_service.Repositories.*;
 
@@ -19,9 +20,9 @@ public class GlobalDataService {
     private final RewardRepository rewardRepository;
     private final CommunityPostRepository postRepository;
     private final CommentRepository commentRepository;
-    private final CoinTransactionRepository transactionRepository;
     private final ReviewRepository reviewRepository;
     private final WishlistRepository wishlistRepository;
+    private final CoinService coinService;
 
     // --- USER DATA ---
     public List<User> getAllUsers() {
@@ -60,7 +61,11 @@ public class GlobalDataService {
     }
 
     // --- ECONOMY DATA ---
-    public List<CoinTransaction> getAllTransactions() {
-        return transactionRepository.findAll();
+
+    /**
+     * Transactions are paged (newest first) since the table grows with every purchase
+     */
+    public CursorPage<CoinTransaction> getAllTransactions(String cursor, int limit) {
+        return coinService.getTransactionFeed(cursor, limit);
     }
 }
@@ -0,0 +1,104 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.Repositories.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables as NDJSON (one JSON object per line).
+ *
+ * Rows come from a database cursor inside a read-only transaction and are written
+ * as they arrive. Every chunk the output is flushed and the persistence context
+ * cleared, so memory stays bounded no matter how many rows are exported.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class GlobalExportService {
+
+    private final UserRepository userRepository;
+    private final ReviewRepository reviewRepository;
+    private final CoinTransactionRepository transactionRepository;
+    private final WishlistRepository wishlistRepository;
+    private final CommunityPostRepository postRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public GlobalExportService(UserRepository userRepository,
+            ReviewRepository reviewRepository,
+            CoinTransactionRepository transactionRepository,
+            WishlistRepository wishlistRepository,
+            CommunityPostRepository postRepository,
+            ObjectMapper objectMapper,
+            @Value("${export.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.reviewRepository = reviewRepository;
+        this.transactionRepository = transactionRepository;
+        this.wishlistRepository = wishlistRepository;
+        this.postRepository = postRepository;
+        this.objectMapper = objectMapper;
+        // Flushing is done per chunk, not per row
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.chunkSize = chunkSize;
+    }
+
+    public long exportUsers(OutputStream out) throws IOException {
+        return writeNdjson("users", userRepository.streamAll(), out);
+    }
+
+    public long exportReviews(OutputStream out) throws IOException {
+        return writeNdjson("reviews", reviewRepository.streamAll(), out);
+    }
+
+    public long exportTransactions(OutputStream out) throws IOException {
+        return writeNdjson("transactions", transactionRepository.streamAll(), out);
+    }
+
+    public long exportWishlists(OutputStream out) throws IOException {
+        return writeNdjson("wishlist", wishlistRepository.streamAll(), out);
+    }
+
+    public long exportCommunityPosts(OutputStream out) throws IOException {
+        return writeNdjson("community posts", postRepository.streamAll(), out);
+    }
+
+    private long writeNdjson(String name, Stream<?> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (rows; JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // Rows are separated by newlines, not Jackson's default root separator
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % chunkSize == 0) {
+                    generator.flush();
+                    // Drop the rows (and any lazily loaded relations) we have already written
+                    entityManager.clear();
+                }
+            }
+            generator.flush();
+        }
+        log.info("Exported " + count + " " + name + " as NDJSON");
+        return count;
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.DTO.LeaderboardEntryDTO;
+import com.example.React_spring_service.Entities.GameScore;
+import com.example.React_spring_service.Enum.LeaderboardWindow;
+import com.example.React_spring_service.Repositories.GamePersonalBestRepository;
+import com.example.React_spring_service.Repositories.GamePersonalBestRepository.LeaderboardRow;
+import com.example.React_spring_service.Repositories.GameScoreRepository;
+import com.example.React_spring_service.Util.AfterCommit;
+import com.example.React_spring_service.Util.RankedTree;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process leaderboards for playable games.
+ *
+ * Each game keeps every player's best score in an order-statistic tree ordered by
+ * score (highest first), then timestamp (earliest first). A top-N read, a user's exact
+ * rank and the players around them all cost O(log n) without touching the database.
+ * Boards are warmed from game_personal_bests on startup and kept current as scores are
+ * submitted or deleted.
+ *
+ * Daily and weekly boards work the same way, keyed by the start of their window.
+ * A new window's board is created by the first score in it, reads always look up the
+ * current window, and boards of past windows are swept periodically.
+ *
+ * Display names are cached here as well, which removes the per-entry User lookup the
+ * database query needed.
+ */
+@Service
+@Slf4j
+public class LeaderboardEngine {
+
+    @Autowired
+    private GamePersonalBestRepository personalBestRepository;
+
+    @Autowired
+    private GameScoreRepository gameScoreRepository;
+
+    // Decides which daily and weekly windows are current
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final Map<BoardKey, Standings> boards = new ConcurrentHashMap<>();
+    private final Map<Long, String> displayNames = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    /**
+     * Load every personal best into memory once the application is up,
+     * first filling in any that are missing from the raw score history
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void warm() {
+        long start = System.nanoTime();
+        int backfilled = personalBestRepository.backfill();
+        if (backfilled > 0) {
+            log.info("Backfilled " + backfilled + " personal bests from game_scores");
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        long count = 0;
+        try (Stream<LeaderboardRow> rows = personalBestRepository.streamLeaderboardRows()) {
+            count += load(rows, List.of(LeaderboardWindow.ALL_TIME), now);
+        }
+        // Every daily and weekly window in play starts no earlier than this week
+        List<LeaderboardWindow> windowed = List.of(LeaderboardWindow.DAILY, LeaderboardWindow.WEEKLY);
+        try (Stream<LeaderboardRow> rows = gameScoreRepository.streamLeaderboardRowsSince(LeaderboardWindow.WEEKLY.start(now))) {
+            count += load(rows, windowed, now);
+        }
+        ready = true;
+        log.info("Leaderboards warmed with " + count + " rows into " + boards.size() + " boards in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private long load(Stream<LeaderboardRow> rows, List<LeaderboardWindow> windows, LocalDateTime now) {
+        long count = 0;
+        Iterator<LeaderboardRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            LeaderboardRow row = iterator.next();
+            displayNames.put(row.getUserId(), row.getDisplayName());
+            Entry entry = new Entry(row.getId(), row.getUserId(), row.getScore(), row.getLevel(), row.getTimestamp());
+            for (LeaderboardWindow window : windows) {
+                offer(row.getGameId(), window, entry, now);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * True once warm() has finished; until then callers should fall back to the database
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Top players for a game in the current window, ranked from 1
+     */
+    public List<LeaderboardEntryDTO> top(Long playableGameId, LeaderboardWindow window, int limit) {
+        Standings board = current(playableGameId, window);
+        List<LeaderboardEntryDTO> result = new ArrayList<>();
+        if (board == null) {
+            return result;
+        }
+        board.lock.readLock().lock();
+        try {
+            int rank = 0;
+            for (Entry entry : board.tree.range(0, limit)) {
+                result.add(toDto(entry, ++rank));
+            }
+            return result;
+        } finally {
+            board.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A user's rank among all players of a game in the current window, by their best score
+     */
+    public Optional<LeaderboardEntryDTO> rankOf(Long playableGameId, LeaderboardWindow window, Long userId) {
+        Standings board = current(playableGameId, window);
+        if (board == null) {
+            return Optional.empty();
+        }
+        board.lock.readLock().lock();
+        try {
+            Entry best = board.bestByUser.get(userId);
+            if (best == null) {
+                return Optional.empty();
+            }
+            return Optional.of(toDto(best, board.tree.rankOf(best) + 1));
+        } finally {
+            board.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The players ranked just above and below a user (radius on each side), including the user.
+     * Empty if the user has no score in the game.
+     */
+    public List<LeaderboardEntryDTO> around(Long playableGameId, LeaderboardWindow window, Long userId, int radius) {
+        Standings board = current(playableGameId, window);
+        List<LeaderboardEntryDTO> result = new ArrayList<>();
+        if (board == null) {
+            return result;
+        }
+        board.lock.readLock().lock();
+        try {
+            Entry best = board.bestByUser.get(userId);
+            if (best == null) {
+                return result;
+            }
+            int index = board.tree.rankOf(best);
+            int from = Math.max(0, index - radius);
+            int rank = from;
+            for (Entry entry : board.tree.range(from, index + radius + 1)) {
+                result.add(toDto(entry, ++rank));
+            }
+            return result;
+        } finally {
+            board.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Offer a newly saved score to every window; it replaces the player's entry only if it beats their best.
+     * Inside a transaction this waits for the commit, so a rolled-back insert never shows up on the board.
+     */
+    public void record(GameScore score) {
+        Long gameId = score.getPlayableGame().getId();
+        Long userId = score.getUser().getId();
+        String displayName = score.getUser().getDisplayName();
+        Entry entry = Entry.of(score);
+        AfterCommit.run(() -> {
+            displayNames.put(userId, displayName);
+            LocalDateTime now = LocalDateTime.now(clock);
+            for (LeaderboardWindow window : LeaderboardWindow.values()) {
+                offer(gameId, window, entry, now);
+            }
+        });
+    }
+
+    /**
+     * Remove a deleted score, and put the player's next best in each window (if any) in its place
+     */
+    public void remove(GameScore score, Map<LeaderboardWindow, GameScore> nextBest) {
+        Long gameId = score.getPlayableGame().getId();
+        Entry entry = Entry.of(score);
+        Map<LeaderboardWindow, Entry> replacements = new HashMap<>();
+        nextBest.forEach((window, replacement) -> replacements.put(window, Entry.of(replacement)));
+        AfterCommit.run(() -> {
+            LocalDateTime now = LocalDateTime.now(clock);
+            for (LeaderboardWindow window : LeaderboardWindow.values()) {
+                Standings board = current(gameId, window);
+                if (board != null) {
+                    board.withdraw(entry);
+                }
+                Entry replacement = replacements.get(window);
+                if (replacement != null) {
+                    offer(gameId, window, replacement, now);
+                }
+            }
+        });
+    }
+
+    /**
+     * Forget a whole game (it was deleted along with its scores)
+     */
+    public void dropGame(Long playableGameId) {
+        AfterCommit.run(() -> boards.keySet().removeIf(key -> key.gameId() == playableGameId));
+    }
+
+    /**
+     * Drop boards whose window has rolled over
+     */
+    @Scheduled(fixedDelayString = "${leaderboards.expiry-interval-ms:60000}")
+    public void expireWindows() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int before = boards.size();
+        boards.keySet().removeIf(key -> !key.start().equals(key.window().start(now)));
+        int expired = before - boards.size();
+        if (expired > 0) {
+            log.info("Expired " + expired + " leaderboard(s) from past windows");
+        }
+    }
+
+    /**
+     * Keep cached names in step with profile updates
+     */
+    public void updateDisplayName(Long userId, String displayName) {
+        AfterCommit.run(() -> displayNames.computeIfPresent(userId, (id, old) -> displayName));
+    }
+
+    // Scores from before the window's current start are ignored
+    private void offer(long gameId, LeaderboardWindow window, Entry entry, LocalDateTime now) {
+        LocalDateTime start = window.start(now);
+        if (entry.timestamp() != null && entry.timestamp().isBefore(start)) {
+            return;
+        }
+        boards.computeIfAbsent(new BoardKey(gameId, window, start), key -> new Standings()).offer(entry);
+    }
+
+    private Standings current(long gameId, LeaderboardWindow window) {
+        return boards.get(new BoardKey(gameId, window, window.start(LocalDateTime.now(clock))));
+    }
+
+    private LeaderboardEntryDTO toDto(Entry entry, int rank) {
+        return LeaderboardEntryDTO.builder()
+                .rank(rank)
+                .userId(entry.userId())
+                .displayName(displayNames.get(entry.userId()))
+                .score(entry.score())
+                .level(entry.level())
+                .timestamp(entry.timestamp())
+                .build();
+    }
+
+    /**
+     * One game's board for one window, identified by the window's start
+     */
+    record BoardKey(long gameId, LeaderboardWindow window, LocalDateTime start) {
+    }
+
+    /**
+     * Best score per user for one game and window, ranked. RankedTree is not thread-safe, so reads
+     * share and writes take the lock exclusively.
+     */
+    static final class Standings {
+        final RankedTree<Entry> tree = new RankedTree<>(Entry.ORDER);
+        final Map<Long, Entry> bestByUser = new HashMap<>();
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /**
+         * Take a score if it beats the user's current best
+         */
+        void offer(Entry entry) {
+            lock.writeLock().lock();
+            try {
+                Entry current = bestByUser.get(entry.userId());
+                if (current != null) {
+                    if (Entry.ORDER.compare(entry, current) >= 0) {
+                        return;
+                    }
+                    tree.remove(current);
+                }
+                tree.add(entry);
+                bestByUser.put(entry.userId(), entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Drop a deleted score if it is the user's current best
+         */
+        void withdraw(Entry entry) {
+            lock.writeLock().lock();
+            try {
+                Entry current = bestByUser.get(entry.userId());
+                if (current != null && current.scoreId() == entry.scoreId()) {
+                    tree.remove(current);
+                    bestByUser.remove(entry.userId());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * One score on a board. The score ID breaks ties so equal (score, timestamp) pairs are kept apart.
+     */
+    record Entry(long scoreId, long userId, int score, Integer level, LocalDateTime timestamp) {
+
+        static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::score).reversed()
+                .thenComparing(Entry::timestamp, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingLong(Entry::scoreId);
+
+        static Entry of(GameScore score) {
+            return new Entry(score.getId(), score.getUser().getId(), score.getScore(), score.getLevel(),
+                    score.getTimestamp());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.React_spring_service.Services;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically deletes notifications older than the time-to-live.
+ * Each batch is its own transaction, so unread counters are corrected as it goes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetentionJob {
+
+    private final NotificationService notificationService;
+
+    @Value("${notifications.ttl-days:90}")
+    private int ttlDays;
+
+    @Value("${notifications.retention.batch-size:5000}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${notifications.retention.initial-delay-ms:300000}", fixedDelayString = "${notifications.retention.interval-ms:3600000}")
+    public void prune() {
+        if (ttlDays <= 0) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(ttlDays);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = notificationService.pruneBefore(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.info("Pruned " + total + " notification(s) older than " + ttlDays + " days");
+        } else {
+            log.debug("Notification retention found nothing to prune");
+        }
+    }
+}
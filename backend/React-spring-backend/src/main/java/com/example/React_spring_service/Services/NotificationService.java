@@ -0,0 +1,168 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.DTO.CursorPage;
+import com.example.React_spring_service.Entities.Notification;
+import com.example.React_spring_service.Repositories.NotificationCounterRepository;
+import com.example.React_spring_service.Repositories.NotificationRepository;
+import com.example.React_spring_service.Util.AfterCommit;
+import com.example.React_spring_service.Util.KeysetCursor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user notification inbox, backed by the notifications table.
+ *
+ * Every change that can move the unread count (read, delete, clear, prune) is one
+ * statement: the notification rows and the user's row in notification_counters are
+ * updated together in a data-modifying CTE, so the counter never drifts from the inbox.
+ * Expired notifications are pruned by NotificationRetentionJob.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class NotificationService {
+
+    // Each statement returns how many notifications it touched, not how many counter rows
+
+    private static final String MARK_READ_SQL = "WITH marked AS ("
+            + "UPDATE notifications SET is_read = true WHERE user_id = ? AND id = ? AND NOT is_read RETURNING id), "
+            + "counted AS (UPDATE notification_counters SET unread_count = unread_count - (SELECT COUNT(*) FROM marked) "
+            + "WHERE user_id = ?) "
+            + "SELECT COUNT(*) FROM marked";
+
+    private static final String MARK_ALL_READ_SQL = "WITH marked AS ("
+            + "UPDATE notifications SET is_read = true WHERE user_id = ? AND NOT is_read RETURNING id), "
+            + "counted AS (UPDATE notification_counters SET unread_count = unread_count - (SELECT COUNT(*) FROM marked) "
+            + "WHERE user_id = ?) "
+            + "SELECT COUNT(*) FROM marked";
+
+    private static final String DELETE_SQL = "WITH removed AS ("
+            + "DELETE FROM notifications WHERE user_id = ? AND id = ? RETURNING is_read), "
+            + "counted AS (UPDATE notification_counters "
+            + "SET unread_count = unread_count - (SELECT COUNT(*) FROM removed WHERE NOT is_read) WHERE user_id = ?) "
+            + "SELECT COUNT(*) FROM removed";
+
+    private static final String CLEAR_SQL = "WITH removed AS ("
+            + "DELETE FROM notifications WHERE user_id = ? RETURNING id), "
+            + "counted AS (UPDATE notification_counters SET unread_count = 0 WHERE user_id = ?) "
+            + "SELECT COUNT(*) FROM removed";
+
+    private static final String PRUNE_SQL = "WITH removed AS ("
+            + "DELETE FROM notifications WHERE id IN "
+            + "(SELECT id FROM notifications WHERE created_at < ? LIMIT ?) RETURNING user_id, is_read), "
+            + "counted AS (UPDATE notification_counters c SET unread_count = c.unread_count - r.n "
+            + "FROM (SELECT user_id, COUNT(*) AS n FROM removed WHERE NOT is_read GROUP BY user_id) r "
+            + "WHERE c.user_id = r.user_id) "
+            + "SELECT COUNT(*) FROM removed";
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationCounterRepository counterRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationStreamRegistry streams;
+
+    /**
+     * One page of a user's inbox, newest first. Throws IllegalArgumentException for a malformed cursor.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Notification> getPage(Long userId, String cursor, int limit, boolean unreadOnly) {
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Notification> rows;
+        if (cursor == null) {
+            rows = notificationRepository.findInboxPage(userId, unreadOnly, page);
+        } else {
+            rows = notificationRepository.findInboxPageAfter(userId, unreadOnly, decodeCursor(cursor), page);
+        }
+        return CursorPage.of(rows, limit, notification -> KeysetCursor.encode(notification.getId()));
+    }
+
+    /**
+     * Append a notification. A "read" key in the payload sets the flag instead of being stored.
+     * Open streams of the user receive it once the transaction commits.
+     */
+    public Notification add(Long userId, Map<String, Object> payload) {
+        Map<String, Object> fields = new HashMap<>(payload);
+        boolean read = Boolean.TRUE.equals(fields.remove("read"));
+        Notification notification = notificationRepository.save(Notification.builder()
+                .userId(userId)
+                .payload(fields)
+                .read(read)
+                .build());
+        if (!read) {
+            counterRepository.increment(userId);
+        }
+        AfterCommit.run(() -> streams.publish(notification));
+        return notification;
+    }
+
+    /**
+     * Open a live stream of the user's new notifications, or null if no more streams can be opened
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        return streams.subscribe(userId, lastEventId);
+    }
+
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long userId) {
+        return counterRepository.findUnreadCount(userId).orElse(0L);
+    }
+
+    /**
+     * Mark one notification read. Returns false if the user has no notification with that ID.
+     */
+    public boolean markRead(Long userId, Long notificationId) {
+        if (!notificationRepository.existsByIdAndUserId(notificationId, userId)) {
+            return false;
+        }
+        jdbcTemplate.queryForObject(MARK_READ_SQL, Integer.class, userId, notificationId, userId);
+        return true;
+    }
+
+    /**
+     * Mark every unread notification read, returns how many changed
+     */
+    public int markAllRead(Long userId) {
+        return jdbcTemplate.queryForObject(MARK_ALL_READ_SQL, Integer.class, userId, userId);
+    }
+
+    /**
+     * Delete one notification. Returns false if the user has no notification with that ID.
+     */
+    public boolean delete(Long userId, Long notificationId) {
+        return jdbcTemplate.queryForObject(DELETE_SQL, Integer.class, userId, notificationId, userId) > 0;
+    }
+
+    /**
+     * Delete a user's whole inbox, returns how many notifications were removed
+     */
+    public int clear(Long userId) {
+        return jdbcTemplate.queryForObject(CLEAR_SQL, Integer.class, userId, userId);
+    }
+
+    /**
+     * Delete up to batchSize notifications created before the cutoff, returns how many were removed
+     */
+    public int pruneBefore(LocalDateTime cutoff, int batchSize) {
+        return jdbcTemplate.queryForObject(PRUNE_SQL, Integer.class, Timestamp.valueOf(cutoff), batchSize);
+    }
+
+    private static Long decodeCursor(String cursor) {
+        String[] parts = KeysetCursor.decode(cursor, 1);
+        try {
+            return Long.parseLong(parts[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
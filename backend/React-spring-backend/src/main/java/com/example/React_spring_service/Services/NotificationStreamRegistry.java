@@ -0,0 +1,258 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.Entities.Notification;
+import com.example.React_spring_service.Repositories.NotificationRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live notification streams (Server-Sent Events), one per open client.
+ *
+ * Each subscriber has a small bounded queue and its own virtual thread that sends
+ * from it, so an idle connection costs a parked virtual thread and a few objects,
+ * and a slow client only ever blocks its own sender. Publishing never waits: if a
+ * subscriber's queue is full it is disconnected instead of buffering without limit,
+ * and the client reconnects with Last-Event-ID to catch up from the database. Catching
+ * up replays at most replayLimit notifications; a client further behind than that gets
+ * a "reset" event and should reload its notifications instead.
+ *
+ * The registry is bounded in total and per user; a user opening one tab too many
+ * closes their oldest stream.
+ */
+@Service
+@Slf4j
+public class NotificationStreamRegistry {
+
+    // Queued in place of a notification to send a keep-alive comment
+    private static final Notification HEARTBEAT = new Notification();
+
+    private final NotificationRepository notificationRepository;
+    private final int maxSubscribers;
+    private final int maxPerUser;
+    private final int bufferSize;
+    private final int replayLimit;
+    private final long timeoutMs;
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public NotificationStreamRegistry(NotificationRepository notificationRepository,
+            @Value("${notifications.sse.max-subscribers:50000}") int maxSubscribers,
+            @Value("${notifications.sse.max-per-user:8}") int maxPerUser,
+            @Value("${notifications.sse.buffer-size:32}") int bufferSize,
+            @Value("${notifications.sse.replay-limit:100}") int replayLimit,
+            @Value("${notifications.sse.timeout-ms:1800000}") long timeoutMs) {
+        this.notificationRepository = notificationRepository;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPerUser = maxPerUser;
+        this.bufferSize = bufferSize;
+        this.replayLimit = replayLimit;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Open a stream for a user. If lastEventId is given, notifications after it are sent first,
+     * or a "reset" event if there are more of them than the replay limit.
+     * Returns null when the registry is full.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        if (size.incrementAndGet() > maxSubscribers) {
+            size.decrementAndGet();
+            return null;
+        }
+        Subscriber subscriber = new Subscriber(userId, newEmitter(), lastEventId);
+        Subscriber evicted = register(subscriber);
+        if (evicted != null) {
+            evicted.close();
+        }
+        subscriber.emitter.onCompletion(() -> unregister(subscriber));
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> unregister(subscriber));
+        subscriber.start();
+        return subscriber.emitter;
+    }
+
+    /**
+     * Hand a new notification to every open stream of its user, without waiting on any of them
+     */
+    public void publish(Notification notification) {
+        List<Subscriber> streams = subscribers.get(notification.getUserId());
+        if (streams == null) {
+            return;
+        }
+        for (Subscriber subscriber : streams) {
+            if (!subscriber.queue.offer(notification)) {
+                dropped.incrementAndGet();
+                log.info("Dropping slow notification stream of user " + subscriber.userId);
+                subscriber.close();
+            }
+        }
+    }
+
+    /**
+     * Keep idle connections open through proxies, and find the ones whose client has gone
+     */
+    @Scheduled(fixedDelayString = "${notifications.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (List<Subscriber> streams : subscribers.values()) {
+            for (Subscriber subscriber : streams) {
+                if (!subscriber.queue.offer(HEARTBEAT)) {
+                    dropped.incrementAndGet();
+                    subscriber.close();
+                }
+            }
+        }
+    }
+
+    public StreamStats stats() {
+        return new StreamStats(size.get(), subscribers.size(), maxSubscribers, dropped.get());
+    }
+
+    // Overridden in tests to capture what is sent
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    @PreDestroy
+    void closeAll() {
+        subscribers.values().forEach(streams -> streams.forEach(Subscriber::close));
+    }
+
+    // Adds the subscriber under its user, returns the stream it pushes out if the user is at their limit
+    private Subscriber register(Subscriber subscriber) {
+        Subscriber[] evicted = new Subscriber[1];
+        subscribers.compute(subscriber.userId, (userId, streams) -> {
+            if (streams == null) {
+                streams = new CopyOnWriteArrayList<>();
+            }
+            if (streams.size() >= maxPerUser) {
+                evicted[0] = streams.remove(0);
+                size.decrementAndGet();
+            }
+            streams.add(subscriber);
+            return streams;
+        });
+        return evicted[0];
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscriber.stop();
+        subscribers.computeIfPresent(subscriber.userId, (userId, streams) -> {
+            if (streams.remove(subscriber)) {
+                size.decrementAndGet();
+            }
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    /**
+     * One open stream. Only its sender thread writes to the emitter.
+     */
+    private final class Subscriber {
+        final long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<Notification> queue = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean closed = new AtomicBoolean();
+        // Highest notification ID sent so far; live events at or below it were already replayed
+        long lastSentId;
+        Thread sender;
+
+        Subscriber(long userId, SseEmitter emitter, Long lastEventId) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.lastSentId = lastEventId == null ? -1 : lastEventId;
+        }
+
+        void start() {
+            sender = Thread.ofVirtual().name("sse-user-" + userId).start(this::run);
+        }
+
+        private void run() {
+            try {
+                if (lastSentId >= 0) {
+                    replay();
+                }
+                while (!closed.get()) {
+                    Notification next = queue.take();
+                    if (next == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else if (next.getId() > lastSentId) {
+                        send(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // close() was called
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed
+                close();
+            } catch (RuntimeException e) {
+                log.warn("Notification stream of user " + userId + " failed: " + e.getMessage());
+                close();
+            }
+        }
+
+        private void replay() throws IOException {
+            List<Notification> missed = notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId,
+                    lastSentId, PageRequest.of(0, replayLimit + 1));
+            if (missed.size() > replayLimit) {
+                // Too far behind to replay; the client reloads its list and takes live events from here
+                emitter.send(SseEmitter.event().name("reset").data(""));
+                lastSentId = -1;
+                return;
+            }
+            for (Notification notification : missed) {
+                send(notification);
+            }
+        }
+
+        private void send(Notification notification) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(notification.getId()))
+                    .name("notification")
+                    .data(notification));
+            lastSentId = notification.getId();
+        }
+
+        /**
+         * End the stream from the server side; the client will reconnect
+         */
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                unregister(this);
+                try {
+                    emitter.complete();
+                } catch (RuntimeException e) {
+                    // Already completed
+                }
+            }
+        }
+
+        private void stop() {
+            closed.set(true);
+            if (sender != null && sender != Thread.currentThread()) {
+                sender.interrupt();
+            }
+        }
+    }
+
+    public record StreamStats(int subscribers, int users, int maxSubscribers, long dropped) {
+    }
+}
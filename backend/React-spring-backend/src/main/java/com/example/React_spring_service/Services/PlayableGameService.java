@@ -1,6 +1,7 @@
 package com.example.React_spring_service.Services;
 
 import com.example.React_spring_service.Entities.PlayableGame;
+import com.example.React_spring_service.Repositories.GamePersonalBestRepository;
 import com.example.React_spring_service.Repositories.PlayableGameRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -19,6 +20,12 @@ public class PlayableGameService {
     @Autowired
     private PlayableGameRepository playableGameRepository;
     
+    @Autowired
+    private GamePersonalBestRepository personalBestRepository;
+    
+    @Autowired
+    private LeaderboardEngine leaderboardEngine;
+    
     // Get all playable games
     public List<PlayableGame> getAllPlayableGames() {
         return playableGameRepository.findAll();
@@ -75,7 +82,10 @@ public class PlayableGameService {
         if (!playableGameRepository.existsById(id)) {
             throw new RuntimeException("Playable game not found with ID: " + id);
         }
+        // Personal bests reference the scores that the game's delete cascades to
+        personalBestRepository.deleteByPlayableGameId(id);
         playableGameRepository.deleteById(id);
+        leaderboardEngine.dropGame(id);
     }
     
     // Check if playable game exists
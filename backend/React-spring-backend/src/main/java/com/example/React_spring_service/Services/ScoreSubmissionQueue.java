@@ -0,0 +1,167 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.DTO.GameScoreDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind pipeline for score submissions, enabled with game-scores.write-behind.enabled.
+ *
+ * Requests only enqueue the submission into a bounded queue and return. A single
+ * flusher thread drains the queue in batches and hands each batch to
+ * GameScoreService.submitScores, which persists it in one transaction. When the
+ * queue is full offer() fails immediately so the caller can push back on the client.
+ */
+@Service
+@Slf4j
+public class ScoreSubmissionQueue {
+
+    private final GameScoreService gameScoreService;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final BlockingQueue<GameScoreDTO> queue;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+
+    private Thread flusher;
+    private volatile boolean running;
+
+    public ScoreSubmissionQueue(GameScoreService gameScoreService,
+            @Value("${game-scores.write-behind.enabled:false}") boolean enabled,
+            @Value("${game-scores.write-behind.capacity:10000}") int capacity,
+            @Value("${game-scores.write-behind.batch-size:500}") int batchSize,
+            @Value("${game-scores.write-behind.flush-interval-ms:200}") long flushIntervalMs) {
+        this.gameScoreService = gameScoreService;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::run, "score-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Score write-behind enabled, capacity " + capacity + ", batch size " + batchSize);
+    }
+
+    /**
+     * Stop accepting work and persist whatever is still queued
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        while (!queue.isEmpty()) {
+            flushBatch();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enqueue a submission already checked with GameScoreService.canSubmit, returns false if the queue is full
+     */
+    public boolean offer(GameScoreDTO submission) {
+        if (queue.offer(submission)) {
+            accepted.incrementAndGet();
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public QueueStats stats() {
+        long flushCount = flushes.get();
+        return new QueueStats(enabled, queue.size(), capacity, accepted.get(), rejected.get(), persisted.get(),
+                skipped.get(), failed.get(), flushCount,
+                lastFlushNanos / 1_000_000.0,
+                flushCount == 0 ? 0 : totalFlushNanos.get() / 1_000_000.0 / flushCount,
+                maxFlushNanos.get() / 1_000_000.0);
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                GameScoreDTO first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<GameScoreDTO> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flushBatch() {
+        List<GameScoreDTO> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<GameScoreDTO> batch) {
+        long start = System.nanoTime();
+        try {
+            int saved = gameScoreService.submitScores(batch);
+            persisted.addAndGet(saved);
+            skipped.addAndGet(batch.size() - saved);
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            log.error("Failed to persist a batch of " + batch.size() + " queued scores", e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            lastFlushNanos = elapsed;
+            totalFlushNanos.addAndGet(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+            flushes.incrementAndGet();
+        }
+    }
+
+    /**
+     * Queue depth, counters and flush latency (milliseconds) for monitoring.
+     * skipped counts accepted submissions dropped at flush because their user or game was
+     * deleted while they were queued.
+     */
+    public record QueueStats(boolean enabled, int depth, int capacity, long accepted, long rejected, long persisted,
+            long skipped, long failed, long flushes, double lastFlushMs, double avgFlushMs, double maxFlushMs) {
+    }
+}
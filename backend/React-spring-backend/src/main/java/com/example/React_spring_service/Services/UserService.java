@@ -1,5 +1,9 @@
 package com.example.React_spring_service.Services;
 
+import com.example.React_spring_service.DTO.CursorPage;
+import com.example.React_spring_service.DTO.FriendSuggestionDTO;
+import com.example.React_spring_service.DTO.GameCardDTO;
+import com.example.React_spring_service.DTO.UserProfileDTO;
 import com.example.React_spring_service.Entities.*;
 import com.example.React_spring_service.Repositories.*;
 import com.example.React_spring_service.Enum.UserLevel;
@@ -7,6 +11,7 @@ import com.example.React_spring_service.Enum.UserLevel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -19,6 +24,11 @@ public class UserService {
     private final UserRepository userRepository;
     private final RewardRepository rewardRepository;
     private final GameRepository gameRepository;
+    private final UserLibraryRepository libraryRepository;
+    private final WishlistService wishlistService;
+    private final NotificationService notificationService;
+    private final FriendGraphService friendGraph;
+    private final LeaderboardEngine leaderboardEngine;
 
     // ==================== USER PROFILE OPERATIONS ====================
 
@@ -31,11 +41,19 @@ public class UserService {
     }
 
     /**
-     * Get user by display name
+     * Get a user's profile (no collections), for profile pages and headers
      */
     @Transactional(readOnly = true)
-    public Optional<User> getUserByDisplayName(String displayName) {
-        return userRepository.findByDisplayName(displayName);
+    public Optional<UserProfileDTO> getUserProfile(Long userId) {
+        return userRepository.findProfileById(userId);
+    }
+
+    /**
+     * Get a user's profile by display name
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserProfileDTO> getUserProfileByDisplayName(String displayName) {
+        return userRepository.findProfileByDisplayName(displayName);
     }
 
     /**
@@ -48,6 +66,7 @@ public class UserService {
 
         if (displayName != null && !displayName.trim().isEmpty()) {
             user.setDisplayName(displayName);
+            leaderboardEngine.updateDisplayName(userId, displayName);
         }
         if (displayImage != null) {
             user.setDisplayImage(displayImage);
@@ -68,96 +87,173 @@ public class UserService {
      * Get all friends of a user
      */
     @Transactional(readOnly = true)
-    public Set<User> getUserFriends(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-        return user.getFriends();
+    public List<UserProfileDTO> getUserFriends(Long userId) {
+        requireUser(userId);
+        return profilesOf(friendGraph.friendsOf(userId).toList());
     }
 
     /**
-     * Add a friend
+     * Add a friend; the friendship shows up on both users
      */
-    public User addFriend(Long userId, Long friendId) {
-        User user = userRepository.findById(userId)
+    public UserProfileDTO addFriend(Long userId, Long friendId) {
+        if (userId.equals(friendId)) {
+            throw new RuntimeException("Users cannot add themselves as a friend");
+        }
+        UserProfileDTO user = userRepository.findProfileById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-        User friend = userRepository.findById(friendId)
-                .orElseThrow(() -> new RuntimeException("Friend not found with id: " + friendId));
+        if (!userRepository.existsById(friendId)) {
+            throw new RuntimeException("Friend not found with id: " + friendId);
+        }
 
-        user.getFriends().add(friend);
-        return userRepository.save(user);
+        friendGraph.connect(userId, friendId);
+        return user;
     }
 
     /**
-     * Remove a friend
+     * Add many friends at once, e.g. when importing friends from another platform.
+     * Existence is checked with one query and all missing friendships are inserted with one
+     * more, so the cost does not grow with the number of IDs. Repeating an import is harmless.
      */
-    public User removeFriend(Long userId, Long friendId) {
-        User user = userRepository.findById(userId)
+    public Map<String, Object> addFriends(Long userId, Collection<Long> friendIds) {
+        requireUser(userId);
+        List<Long> requested = friendIds.stream().filter(Objects::nonNull).distinct().toList();
+        Set<Long> existing = requested.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(requested));
+
+        List<Long> valid = new ArrayList<>();
+        List<Long> invalid = new ArrayList<>();
+        for (Long friendId : requested) {
+            if (existing.contains(friendId) && !friendId.equals(userId)) {
+                valid.add(friendId);
+            } else {
+                invalid.add(friendId);
+            }
+        }
+
+        List<Long> added = friendGraph.connectAll(userId, valid);
+        Set<Long> addedSet = new HashSet<>(added);
+        List<Long> alreadyFriends = valid.stream().filter(id -> !addedSet.contains(id)).toList();
+        return Map.of(
+                "added", added,
+                "alreadyFriends", alreadyFriends,
+                "invalid", invalid);
+    }
+
+    /**
+     * Remove a friend, on both sides of the friendship
+     */
+    public UserProfileDTO removeFriend(Long userId, Long friendId) {
+        UserProfileDTO user = userRepository.findProfileById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
 
-        user.getFriends().removeIf(friend -> friend.getId().equals(friendId));
-        return userRepository.save(user);
+        friendGraph.disconnect(userId, friendId);
+        return user;
+    }
+
+    /**
+     * Friends two users have in common
+     */
+    @Transactional(readOnly = true)
+    public List<UserProfileDTO> getMutualFriends(Long userId, Long otherId) {
+        requireUser(userId);
+        requireUser(otherId);
+        return profilesOf(friendGraph.mutualFriends(userId, otherId).toList());
+    }
+
+    /**
+     * People the user may know: friends of their friends, most mutual friends first
+     */
+    @Transactional(readOnly = true)
+    public List<FriendSuggestionDTO> getFriendSuggestions(Long userId, int limit) {
+        requireUser(userId);
+        FriendGraphService.Suggestions suggestions = friendGraph.suggestFriends(userId, limit);
+
+        Map<Long, UserProfileDTO> profiles = new HashMap<>();
+        for (UserProfileDTO profile : profilesOf(Arrays.stream(suggestions.userIds()).boxed().toList())) {
+            profiles.put(profile.getId(), profile);
+        }
+        List<FriendSuggestionDTO> result = new ArrayList<>(suggestions.userIds().length);
+        for (int i = 0; i < suggestions.userIds().length; i++) {
+            UserProfileDTO profile = profiles.get(suggestions.userIds()[i]);
+            if (profile != null) {
+                result.add(new FriendSuggestionDTO(profile, suggestions.mutualFriends()[i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The user's friends who own a game
+     */
+    @Transactional(readOnly = true)
+    public List<UserProfileDTO> getFriendsOwningGame(Long userId, Long gameId) {
+        requireUser(userId);
+        return profilesOf(friendGraph.friendsOwning(userId, gameId));
+    }
+
+    // Profiles for a set of user IDs, sorted by display name
+    private List<UserProfileDTO> profilesOf(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findProfilesByIdIn(userIds);
     }
 
     // ==================== GAMES LIBRARY MANAGEMENT ====================
 
     /**
-     * Get user's games library
+     * Get user's games library (game IDs in the order they were added)
      */
     @Transactional(readOnly = true)
     public List<Long> getUserGamesLibrary(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-        return user.getGamesInLibrary().stream()
-                .map(num -> (Long) num) // Force cast to Long
-                .toList();
+        requireUser(userId);
+        return libraryRepository.findGameIdsByUserId(userId);
     }
 
     /**
-     * Add game to user's library
+     * Add game to user's library, returns the updated library.
+     * Adding a game that is already owned is a no-op.
      */
-    @SuppressWarnings("unchecked")
-    public User addGameToLibrary(Long userId, Long gameId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    public List<Long> addGameToLibrary(Long userId, Long gameId) {
+        requireUser(userId);
 
         // Verify game exists
-        gameRepository.findById(gameId)
-                .orElseThrow(() -> new RuntimeException("Game not found with id: " + gameId));
-
-        // Safe cast since we control the list creation
-        List<Number> gamesLibrary = user.getGamesInLibrary();
-        if (!gamesLibrary.stream().anyMatch(id -> id.longValue() == gameId)) {
-            gamesLibrary.add(gameId);
+        if (!gameRepository.existsById(gameId)) {
+            throw new RuntimeException("Game not found with id: " + gameId);
         }
-        return userRepository.save(user);
+
+        libraryRepository.add(userId, gameId);
+        return libraryRepository.findGameIdsByUserId(userId);
     }
 
     /**
-     * Remove game from user's library
+     * Remove game from user's library, returns the updated library
      */
-    @SuppressWarnings("unchecked")
-    public User removeGameFromLibrary(Long userId, Long gameId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    public List<Long> removeGameFromLibrary(Long userId, Long gameId) {
+        requireUser(userId);
+        libraryRepository.remove(userId, gameId);
+        return libraryRepository.findGameIdsByUserId(userId);
+    }
 
-        // Safe cast since we control the list creation
-        List<Number> gamesLibrary = user.getGamesInLibrary();
-        gamesLibrary.removeIf(id -> id.longValue() == gameId);
-        return userRepository.save(user);
+    /**
+     * Whether a user owns a game
+     */
+    @Transactional(readOnly = true)
+    public boolean ownsGame(Long userId, Long gameId) {
+        return libraryRepository.existsByUserIdAndGameId(userId, gameId);
     }
 
     /**
-     * Get full Game objects from user's library
+     * Get game cards for user's library, in library order
      */
     @Transactional(readOnly = true)
-    public List<Game> getUserGamesLibraryFull(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    public List<GameCardDTO> getUserGamesLibraryFull(Long userId) {
+        return findCardsInOrder(getUserGamesLibrary(userId));
+    }
 
-        return user.getGamesInLibrary().stream()
-                .map(gameId -> gameRepository.findById(gameId.longValue()).orElse(null))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    private void requireUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
     }
 
     // ==================== WISHLIST MANAGEMENT ====================
@@ -167,57 +263,71 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public List<Long> getUserWishlist(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-        return user.getWishlist().stream()
-                .map(Number::longValue)
-                .collect(Collectors.toList());
+        requireUser(userId);
+        return wishlistService.getGameIds(userId);
     }
 
     /**
-     * Add game to wishlist
+     * Add game to wishlist, returns the updated wishlist.
+     * Adding a game that is already wishlisted is a no-op.
      */
-    @SuppressWarnings("unchecked")
-    public User addGameToWishlist(Long userId, Long gameId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    public List<Long> addGameToWishlist(Long userId, Long gameId) {
+        requireUser(userId);
 
         // Verify game exists
-        gameRepository.findById(gameId)
-                .orElseThrow(() -> new RuntimeException("Game not found with id: " + gameId));
-
-        // Safe cast since we control the list creation
-        List<Long> wishlist = user.getWishlist();
-        if (!wishlist.stream().anyMatch(id -> id.longValue() == gameId)) {
-            wishlist.add(gameId);
+        if (!gameRepository.existsById(gameId)) {
+            throw new RuntimeException("Game not found with id: " + gameId);
         }
-        return userRepository.save(user);
+
+        wishlistService.addAll(userId, List.of(gameId));
+        return wishlistService.getGameIds(userId);
     }
 
     /**
-     * Remove game from wishlist
+     * Remove game from wishlist, returns the updated wishlist
      */
-    @SuppressWarnings("unchecked")
-    public User removeGameFromWishlist(Long userId, Long gameId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    public List<Long> removeGameFromWishlist(Long userId, Long gameId) {
+        requireUser(userId);
+        wishlistService.removeAll(userId, List.of(gameId));
+        return wishlistService.getGameIds(userId);
+    }
 
-        // Safe cast since we control the list creation
-        List<Long> wishlist = user.getWishlist();
-        wishlist.removeIf(id -> id.longValue() == gameId);
-        return userRepository.save(user);
+    /**
+     * Add and remove many games at once; unknown game IDs are ignored.
+     * Returns how many were added and removed, and the updated wishlist.
+     */
+    public Map<String, Object> updateWishlist(Long userId, Collection<Long> add, Collection<Long> remove) {
+        requireUser(userId);
+        int added = add == null ? 0 : wishlistService.addAll(userId, add);
+        int removed = remove == null ? 0 : wishlistService.removeAll(userId, remove);
+        return Map.of(
+                "added", added,
+                "removed", removed,
+                "wishlist", wishlistService.getGameIds(userId));
     }
 
     /**
-     * Get full Game objects from user's wishlist
+     * Get game cards for user's wishlist, in wishlist order
      */
     @Transactional(readOnly = true)
-    public List<Game> getUserWishlistFull(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    public List<GameCardDTO> getUserWishlistFull(Long userId) {
+        return findCardsInOrder(getUserWishlist(userId));
+    }
 
-        return user.getWishlist().stream()
-                .map(gameId -> gameRepository.findById(gameId.longValue()).orElse(null))
+    /**
+     * Load cards for the given game IDs with one query, keeping the callers order.
+     * IDs of games that no longer exist are dropped.
+     */
+    private List<GameCardDTO> findCardsInOrder(List<Long> gameIds) {
+        if (gameIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, GameCardDTO> cards = new HashMap<>();
+        for (GameCardDTO card : gameRepository.findCardsByIdIn(new HashSet<>(gameIds))) {
+            cards.put(card.getId(), card);
+        }
+        return gameIds.stream()
+                .map(cards::get)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
@@ -261,48 +371,72 @@ public class UserService {
     // ==================== NOTIFICATIONS MANAGEMENT ====================
 
     /**
-     * Get user's notifications
+     * One page of a user's notifications, newest first
      */
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getUserNotifications(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-        return user.getNotifications();
+    public CursorPage<Notification> getUserNotifications(Long userId, String cursor, int limit, boolean unreadOnly) {
+        requireUser(userId);
+        return notificationService.getPage(userId, cursor, limit, unreadOnly);
     }
 
     /**
      * Add notification to user
      */
-    public User addNotification(Long userId, Map<String, Object> notification) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    public Notification addNotification(Long userId, Map<String, Object> notification) {
+        requireUser(userId);
+        return notificationService.add(userId, notification);
+    }
 
-        user.getNotifications().add(notification);
-        return userRepository.save(user);
+    /**
+     * Subscribe to a user's new notifications as Server-Sent Events.
+     * Returns null when the server has no room for another stream.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter subscribeToNotifications(Long userId, Long lastEventId) {
+        requireUser(userId);
+        return notificationService.subscribe(userId, lastEventId);
+    }
+
+    @Transactional(readOnly = true)
+    public long getUnreadNotificationCount(Long userId) {
+        requireUser(userId);
+        return notificationService.getUnreadCount(userId);
     }
 
     /**
-     * Clear all notifications for a user
+     * Mark one notification as read
      */
-    public User clearNotifications(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    public void markNotificationRead(Long userId, Long notificationId) {
+        requireUser(userId);
+        if (!notificationService.markRead(userId, notificationId)) {
+            throw new RuntimeException("Notification not found with id: " + notificationId);
+        }
+    }
 
-        user.getNotifications().clear();
-        return userRepository.save(user);
+    /**
+     * Mark all of a user's notifications as read, returns how many changed
+     */
+    public int markAllNotificationsRead(Long userId) {
+        requireUser(userId);
+        return notificationService.markAllRead(userId);
     }
 
     /**
-     * Remove specific notification by index
+     * Clear all notifications for a user
      */
-    public User removeNotification(Long userId, int notificationIndex) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    public int clearNotifications(Long userId) {
+        requireUser(userId);
+        return notificationService.clear(userId);
+    }
 
-        if (notificationIndex >= 0 && notificationIndex < user.getNotifications().size()) {
-            user.getNotifications().remove(notificationIndex);
+    /**
+     * Remove specific notification by ID
+     */
+    public void removeNotification(Long userId, Long notificationId) {
+        requireUser(userId);
+        if (!notificationService.delete(userId, notificationId)) {
+            throw new RuntimeException("Notification not found with id: " + notificationId);
         }
-        return userRepository.save(user);
     }
 
     // ==================== COMMUNITY POSTS ====================
@@ -320,24 +454,26 @@ public class UserService {
     // ==================== USER STATISTICS ====================
 
     /**
-     * Get user profile statistics
+     * Get user profile statistics. One aggregate query: neither the user's collections
+     * nor any JSON column is loaded.
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getUserStatistics(Long userId) {
-        User user = userRepository.findById(userId)
+        UserRepository.UserStatistics row = userRepository.findStatisticsById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
 
         Map<String, Object> stats = new HashMap<>();
-        stats.put("userId", user.getId());
-        stats.put("displayName", user.getDisplayName());
-        stats.put("level", user.getLevel());
-        stats.put("canSell", user.isCanSell());
-        stats.put("totalGames", user.getGamesInLibrary().size());
-        stats.put("totalWishlist", user.getWishlist().size());
-        stats.put("totalFriends", user.getFriends().size());
-        stats.put("totalRewards", user.getRewards().size());
-        stats.put("totalPosts", user.getCommunityPosts().size());
-        stats.put("unreadNotifications", user.getNotifications().size());
+        stats.put("userId", row.getUserId());
+        stats.put("displayName", row.getDisplayName());
+        stats.put("displayImage", row.getDisplayImage());
+        stats.put("level", row.getLevel());
+        stats.put("canSell", Boolean.TRUE.equals(row.getCanSell()));
+        stats.put("totalGames", row.getTotalGames());
+        stats.put("totalWishlist", row.getTotalWishlist());
+        stats.put("totalFriends", row.getTotalFriends());
+        stats.put("totalRewards", row.getTotalRewards());
+        stats.put("totalPosts", row.getTotalPosts());
+        stats.put("unreadNotifications", row.getUnreadNotifications());
 
         return stats;
     }
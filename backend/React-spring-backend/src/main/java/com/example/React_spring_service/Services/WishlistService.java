@@ -0,0 +1,105 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.Entities.GameWishlistCount;
+import com.example.React_spring_service.Repositories.GameWishlistCountRepository;
+import com.example.React_spring_service.Repositories.WishlistRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The single wishlist store, backed by the wishlists table.
+ *
+ * Adds and removes take any number of games at once and are one statement each:
+ * the row changes and the per-game counter in game_wishlist_counts are applied
+ * together in a data-modifying CTE, so the counters never drift from the rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class WishlistService {
+
+    // Unknown game IDs are skipped by the join; games already on the wishlist by ON CONFLICT
+    private static final String ADD_SQL = "WITH added AS ("
+            + "INSERT INTO wishlists (user_id, game_id, date_added) "
+            + "SELECT ?, g.id, now() FROM games g WHERE g.id = ANY(?::bigint[]) "
+            + "ON CONFLICT (user_id, game_id) DO NOTHING RETURNING game_id) "
+            + "INSERT INTO game_wishlist_counts (game_id, wishlist_count) "
+            + "SELECT game_id, COUNT(*) FROM added GROUP BY game_id "
+            + "ON CONFLICT (game_id) DO UPDATE SET wishlist_count = game_wishlist_counts.wishlist_count + EXCLUDED.wishlist_count";
+
+    private static final String REMOVE_SQL = "WITH removed AS ("
+            + "DELETE FROM wishlists WHERE user_id = ? AND game_id = ANY(?::bigint[]) RETURNING game_id) "
+            + "UPDATE game_wishlist_counts c SET wishlist_count = c.wishlist_count - r.n "
+            + "FROM (SELECT game_id, COUNT(*) AS n FROM removed GROUP BY game_id) r WHERE c.game_id = r.game_id";
+
+    private final WishlistRepository wishlistRepository;
+    private final GameWishlistCountRepository countRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Game IDs on a user's wishlist, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getGameIds(Long userId) {
+        return wishlistRepository.findGameIdsByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean contains(Long userId, Long gameId) {
+        return wishlistRepository.existsByUserIdAndGameId(userId, gameId);
+    }
+
+    @Transactional(readOnly = true)
+    public long count(Long userId) {
+        return wishlistRepository.countByUserId(userId);
+    }
+
+    /**
+     * Add games to a user's wishlist, returns how many were newly added
+     */
+    public int addAll(Long userId, Collection<Long> gameIds) {
+        return apply(ADD_SQL, userId, gameIds);
+    }
+
+    /**
+     * Remove games from a user's wishlist, returns how many were removed
+     */
+    public int removeAll(Long userId, Collection<Long> gameIds) {
+        return apply(REMOVE_SQL, userId, gameIds);
+    }
+
+    /**
+     * How many users have a game on their wishlist
+     */
+    @Transactional(readOnly = true)
+    public long getWishlistCount(Long gameId) {
+        return countRepository.findCountByGameId(gameId).orElse(0L);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GameWishlistCount> getMostWishlisted(int limit) {
+        return countRepository.findMostWishlisted(PageRequest.of(0, limit));
+    }
+
+    // Both statements touch one counter row per game, so the count of updated rows is the count of distinct games changed
+    private int apply(String sql, Long userId, Collection<Long> gameIds) {
+        if (gameIds.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = gameIds.stream().distinct().toArray(Long[]::new);
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setLong(1, userId);
+            ps.setArray(2, con.createArrayOf("bigint", ids));
+            return ps;
+        });
+    }
+}
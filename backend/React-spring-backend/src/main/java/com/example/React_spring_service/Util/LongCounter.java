@@ -0,0 +1,109 @@
+package com.example.React_spring_service.Util;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Counts occurrences of long keys in an open-addressing table of primitive arrays,
+ * so tallying millions of IDs allocates nothing per increment. Not thread-safe.
+ */
+public final class LongCounter {
+
+    // Never a real entity ID
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] counts;
+    private int size;
+
+    public LongCounter(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedKeys * 2 - 1)) << 1;
+        keys = new long[capacity];
+        counts = new int[capacity];
+        Arrays.fill(keys, FREE);
+    }
+
+    public void increment(long key) {
+        int slot = slot(keys, key);
+        if (keys[slot] == FREE) {
+            keys[slot] = key;
+            if (++size * 2 > keys.length) {
+                grow();
+                slot = slot(keys, key);
+            }
+        }
+        counts[slot]++;
+    }
+
+    public int get(long key) {
+        int slot = slot(keys, key);
+        return keys[slot] == FREE ? 0 : counts[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The keys with the highest counts (ties broken by lower key), at most limit of them, highest first
+     */
+    public long[] top(int limit, LongPredicate filter) {
+        long[] best = new long[Math.min(limit, size)];
+        int[] bestCounts = new int[best.length];
+        int filled = 0;
+        for (int i = 0; i < keys.length; i++) {
+            long key = keys[i];
+            if (key == FREE || !filter.test(key)) {
+                continue;
+            }
+            int count = counts[i];
+            // Insertion into a short sorted array; limit is small (a page of suggestions)
+            int at = filled;
+            while (at > 0 && (bestCounts[at - 1] < count || (bestCounts[at - 1] == count && best[at - 1] > key))) {
+                at--;
+            }
+            if (at >= best.length) {
+                continue;
+            }
+            int last = Math.min(filled, best.length - 1);
+            System.arraycopy(best, at, best, at + 1, last - at);
+            System.arraycopy(bestCounts, at, bestCounts, at + 1, last - at);
+            best[at] = key;
+            bestCounts[at] = count;
+            filled = Math.min(filled + 1, best.length);
+        }
+        return Arrays.copyOf(best, filled);
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        Arrays.fill(keys, FREE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    // Linear probing from a mixed hash; the table is at most half full so a free slot is always reached
+    private static int slot(long[] table, long key) {
+        int mask = table.length - 1;
+        int slot = (int) (mix(key) & mask);
+        while (table[slot] != FREE && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+}
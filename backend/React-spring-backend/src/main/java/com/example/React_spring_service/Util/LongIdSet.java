@@ -0,0 +1,178 @@
+package com.example.React_spring_service.Util;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Set of entity IDs kept as a sorted, packed long[] instead of boxed Longs.
+ * Membership is a binary search; add and remove shift the tail of the array,
+ * which is cheap at the sizes ID lists on a user reach. Iteration is in ascending ID order.
+ * Serializes to JSON as a plain array of numbers.
+ */
+public final class LongIdSet implements Serializable {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] ids;
+    private int size;
+
+    public LongIdSet() {
+        this.ids = EMPTY;
+    }
+
+    private LongIdSet(long[] ids, int size) {
+        this.ids = ids;
+        this.size = size;
+    }
+
+    /**
+     * Set of the given values; duplicates are dropped and order does not matter
+     */
+    public static LongIdSet of(long... values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return new LongIdSet(sorted, size);
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    /**
+     * Add an ID, returns false if it was already present
+     */
+    public boolean add(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -(index + 1);
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(8, size + (size >> 1)));
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+        return true;
+    }
+
+    /**
+     * Remove an ID, returns false if it was not present
+     */
+    public boolean remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * IDs present in both sets, by a linear merge of the two sorted arrays
+     */
+    public LongIdSet intersect(LongIdSet other) {
+        long[] common = new long[Math.min(size, other.size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            long a = ids[i];
+            long b = other.ids[j];
+            if (a == b) {
+                common[count++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return new LongIdSet(common, count);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * The ID at a position in ascending order
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return ids[index];
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(ids[i]);
+        }
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(ids, 0, size);
+    }
+
+    @JsonValue
+    public long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Boxed copy, for APIs that return List<Long>
+     */
+    public List<Long> toList() {
+        List<Long> list = new ArrayList<>(size);
+        forEach(list::add);
+        return list;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof LongIdSet that) || size != that.size) {
+            return false;
+        }
+        return Arrays.equals(ids, 0, size, that.ids, 0, size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Long.hashCode(ids[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
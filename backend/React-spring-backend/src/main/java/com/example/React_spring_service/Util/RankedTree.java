@@ -0,0 +1,234 @@
+package com.example.React_spring_service.Util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorted set with order statistics: a treap whose nodes track their subtree size.
+ *
+ * Insert, remove, rank-of-element and element-at-rank all run in O(log n) expected
+ * time, and reading k consecutive elements from any rank costs O(log n + k).
+ * Not thread-safe; callers guard it with their own lock.
+ */
+public class RankedTree<E> {
+
+    private final Comparator<? super E> comparator;
+    private Node<E> root;
+    private long seed = System.nanoTime() | 1L;
+
+    public RankedTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    private static final class Node<E> {
+        final E value;
+        final int priority;
+        Node<E> left;
+        Node<E> right;
+        int size = 1;
+
+        Node(E value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Add an element, returns false if an equal element (per the comparator) is already present
+     */
+    public boolean add(E value) {
+        if (contains(value)) {
+            return false;
+        }
+        root = insert(root, new Node<>(value, nextPriority()));
+        return true;
+    }
+
+    /**
+     * Remove an element, returns false if it was not present
+     */
+    public boolean remove(E value) {
+        if (!contains(value)) {
+            return false;
+        }
+        root = delete(root, value);
+        return true;
+    }
+
+    public boolean contains(E value) {
+        Node<E> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp == 0) {
+                return true;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Number of elements ordered strictly before the given one (its 0-based index if present)
+     */
+    public int rankOf(E value) {
+        int rank = 0;
+        Node<E> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Element at a 0-based index
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Elements with index in [from, to), in order. Bounds are clamped to the tree.
+     */
+    public List<E> range(int from, int to) {
+        from = Math.max(0, from);
+        to = Math.min(size(), to);
+        List<E> out = new ArrayList<>(Math.max(0, to - from));
+        if (from < to) {
+            collect(root, from, to, out);
+        }
+        return out;
+    }
+
+    // In-order walk restricted to [from, to) relative to this subtree, skipping whole subtrees outside it
+    private void collect(Node<E> node, int from, int to, List<E> out) {
+        if (node == null || from >= to) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (from < leftSize) {
+            collect(node.left, from, Math.min(to, leftSize), out);
+        }
+        if (from <= leftSize && leftSize < to) {
+            out.add(node.value);
+        }
+        if (to > leftSize + 1) {
+            collect(node.right, Math.max(0, from - leftSize - 1), to - leftSize - 1, out);
+        }
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    private Node<E> insert(Node<E> node, Node<E> fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        if (comparator.compare(fresh.value, node.value) < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<E> delete(Node<E> node, E value) {
+        int cmp = comparator.compare(value, node.value);
+        if (cmp < 0) {
+            node.left = delete(node.left, value);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, value);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<E> rotateRight(Node<E> node) {
+        Node<E> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<E> rotateLeft(Node<E> node) {
+        Node<E> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node<?> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // xorshift64, good enough for treap priorities
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (int) (seed >>> 32);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.React_spring_service.Util;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool of locks indexed by a long key (e.g. a user ID).
+ * Work for the same key is serialized while different keys almost always
+ * land on different stripes and run in parallel, without keeping a lock
+ * object per key around forever.
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Stripe index for a key (Fibonacci hashing so sequential IDs spread out)
+     */
+    public int stripeOf(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    public <T> T withLock(long key, Supplier<T> action) {
+        ReentrantLock lock = locks[stripeOf(key)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Run an action holding the stripes of every key.
+     * Stripes are taken in ascending index order so two callers can never deadlock.
+     */
+    public <T> T withLocks(Collection<Long> keys, Supplier<T> action) {
+        int[] stripes = keys.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+        int acquired = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    public int size() {
+        return locks.length;
+    }
+}
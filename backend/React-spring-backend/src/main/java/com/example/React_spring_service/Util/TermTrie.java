@@ -0,0 +1,163 @@
+package com.example.React_spring_service.Util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Set of terms in a character trie that finds every term starting with something close
+ * to a given prefix, for search-as-you-type that tolerates typos.
+ *
+ * The lookup walks the trie carrying one row of the edit-distance table (Levenshtein plus
+ * swapped neighbours) between the query and the path so far, and abandons a branch as soon
+ * as no cell of the row is within the allowed distance, so it only visits the few nodes
+ * near the query. Not thread-safe; callers guard it with their own lock.
+ */
+public final class TermTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private int size;
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        String term;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrAdd(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int at = -index - 1;
+            char[] grownKeys = new char[keys.length + 1];
+            Node[] grownChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, grownKeys, 0, at);
+            System.arraycopy(children, 0, grownChildren, 0, at);
+            System.arraycopy(keys, at, grownKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, grownChildren, at + 1, children.length - at);
+            Node node = new Node();
+            grownKeys[at] = key;
+            grownChildren[at] = node;
+            keys = grownKeys;
+            children = grownChildren;
+            return node;
+        }
+    }
+
+    /**
+     * A term and the edit distance between the query and the term's closest prefix
+     */
+    public record Match(String term, int edits) {
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add a term, returns false if it was already present
+     */
+    public boolean add(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.childOrAdd(term.charAt(i));
+        }
+        if (node.term != null) {
+            return false;
+        }
+        node.term = term;
+        size++;
+        return true;
+    }
+
+    public boolean contains(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length() && node != null; i++) {
+            node = node.child(term.charAt(i));
+        }
+        return node != null && node.term != null;
+    }
+
+    /**
+     * Up to limit terms that start with the prefix give or take maxEdits insertions, deletions,
+     * substitutions or swaps of adjacent characters. Fewest edits first, then shorter terms first.
+     */
+    public List<Match> matchPrefix(String prefix, int maxEdits, int limit) {
+        record Anchor(Node node, int edits, int depth) {
+        }
+        List<Anchor> anchors = new ArrayList<>();
+        int[] first = new int[prefix.length() + 1];
+        for (int i = 0; i < first.length; i++) {
+            first[i] = i;
+        }
+        if (first[prefix.length()] <= maxEdits) {
+            anchors.add(new Anchor(root, first[prefix.length()], 0));
+        }
+        walk(root, prefix, maxEdits, 0, (char) 0, null, first, (node, edits, depth) -> anchors.add(new Anchor(node, edits, depth)));
+
+        // The closest anchors first; a term reachable from several keeps its closest
+        anchors.sort(Comparator.comparingInt(Anchor::edits).thenComparing(Anchor::depth, Comparator.reverseOrder()));
+        List<Match> matches = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Anchor anchor : anchors) {
+            ArrayDeque<Node> queue = new ArrayDeque<>();
+            queue.add(anchor.node());
+            while (!queue.isEmpty() && matches.size() < limit) {
+                Node node = queue.poll();
+                if (node.term != null && seen.add(node.term)) {
+                    matches.add(new Match(node.term, anchor.edits()));
+                }
+                queue.addAll(Arrays.asList(node.children));
+            }
+            if (matches.size() >= limit) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    private interface AnchorSink {
+        void accept(Node node, int edits, int depth);
+    }
+
+    private void walk(Node node, String prefix, int maxEdits, int depth, char previous, int[] rowBefore, int[] row,
+            AnchorSink sink) {
+        int width = prefix.length();
+        for (int k = 0; k < node.keys.length; k++) {
+            char key = node.keys[k];
+            int[] next = new int[width + 1];
+            next[0] = row[0] + 1;
+            int best = next[0];
+            for (int i = 1; i <= width; i++) {
+                char wanted = prefix.charAt(i - 1);
+                int cost = wanted == key ? 0 : 1;
+                int distance = Math.min(Math.min(next[i - 1] + 1, row[i] + 1), row[i - 1] + cost);
+                if (rowBefore != null && i > 1 && wanted == previous && prefix.charAt(i - 2) == key) {
+                    distance = Math.min(distance, rowBefore[i - 2] + 1);
+                }
+                next[i] = distance;
+                best = Math.min(best, distance);
+            }
+            if (best > maxEdits) {
+                continue;
+            }
+            Node child = node.children[k];
+            if (next[width] <= maxEdits) {
+                sink.accept(child, next[width], depth + 1);
+            }
+            walk(child, prefix, maxEdits, depth + 1, key, row, next, sink);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.React_spring_service.Config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip (read, then write back) of a 20-entry developer log column through the typed
+ * converter and through the generic one it replaced: its own ObjectMapper and untyped reads.
+ * Not part of the test run; start it from main or with org.openjdk.jmh.Main on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypedJsonConverterBenchmark {
+
+    private final StringMapListConverter typed = new StringMapListConverter();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private String column;
+
+    @Setup
+    public void setUp() {
+        List<Map<String, String>> logs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Map<String, String> log = new LinkedHashMap<>();
+            log.put("title", "Update v1." + i);
+            log.put("description", "Fixed bugs and tuned the balance of level " + i);
+            logs.add(log);
+        }
+        column = new JsonConverter().convertToDatabaseColumn(logs);
+    }
+
+    @Benchmark
+    public String untyped() throws JsonProcessingException {
+        Object value = mapper.readValue(column, new TypeReference<Object>() {
+        });
+        return mapper.writeValueAsString(value);
+    }
+
+    @Benchmark
+    public String typed() {
+        return typed.convertToDatabaseColumn(typed.convertToEntityAttribute(column));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TypedJsonConverterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.React_spring_service.Config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypedJsonConverterTest {
+
+    private static List<Map<String, String>> developerLogs(int count) {
+        List<Map<String, String>> logs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, String> log = new LinkedHashMap<>();
+            log.put("title", "Update v1." + i);
+            log.put("description", "Fixed bugs and tuned the balance of level " + i);
+            logs.add(log);
+        }
+        return logs;
+    }
+
+    @Test
+    void typedConvertersWriteTheSameColumnsAsTheGenericOne() {
+        JsonConverter generic = new JsonConverter();
+        List<String> tags = List.of("action", "co-op", "pixel art");
+        List<Map<String, String>> logs = developerLogs(3);
+        List<Map<String, Object>> rewards = List.of(Map.of("id", 1, "title", "Gold Skin", "cost", 500));
+
+        String tagsColumn = new StringListConverter().convertToDatabaseColumn(tags);
+        String logsColumn = new StringMapListConverter().convertToDatabaseColumn(logs);
+        String rewardsColumn = new JsonObjectListConverter().convertToDatabaseColumn(rewards);
+
+        assertEquals(generic.convertToDatabaseColumn(tags), tagsColumn);
+        assertEquals(generic.convertToDatabaseColumn(logs), logsColumn);
+        assertEquals(generic.convertToDatabaseColumn(rewards), rewardsColumn);
+        assertEquals(tags, new StringListConverter().convertToEntityAttribute(tagsColumn));
+        assertEquals(logs, new StringMapListConverter().convertToEntityAttribute(logsColumn));
+        assertEquals(rewards, new JsonObjectListConverter().convertToEntityAttribute(rewardsColumn));
+    }
+
+    @Test
+    void nullAndEmptyColumnsReadAsNullAndBadJsonIsRejected() {
+        StringListConverter converter = new StringListConverter();
+
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+        assertNull(converter.convertToEntityAttribute(""));
+        assertEquals(Map.of("title", "Welcome"), new JsonObjectConverter().convertToEntityAttribute("{\"title\":\"Welcome\"}"));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute("[\"a\","));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute("{\"a\":1}"));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.React_spring_service.Config;
+
+import com.example.React_spring_service.Util.LongIdSet;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WishlistMigratorTest {
+
+    @Test
+    void readsLegacyJsonArrays() {
+        assertEquals(LongIdSet.of(3, 1, 2), WishlistMigrator.parseIds("[3,1,2]"));
+        assertEquals(LongIdSet.of(12, 7), WishlistMigrator.parseIds(" [ 12.0, \"7\", 12 ] "));
+        assertThrows(IllegalArgumentException.class, () -> WishlistMigrator.parseIds("[1,{\"id\":2}]"));
+        assertThrows(IllegalArgumentException.class, () -> WishlistMigrator.parseIds("1,2"));
+    }
+
+    @Test
+    void emptyColumnsReadAsEmptySets() {
+        assertTrue(WishlistMigrator.parseIds("").isEmpty());
+        assertTrue(WishlistMigrator.parseIds("[]").isEmpty());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.React_spring_service.DTO;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CursorPageTest {
+
+    @Test
+    void onlyTheExtraRowSignalsAnotherPage() {
+        CursorPage<Integer> empty = CursorPage.of(List.of(), 3, n -> "after-" + n);
+        assertEquals(List.of(), empty.getItems());
+        assertNull(empty.getNextCursor());
+
+        CursorPage<Integer> partial = CursorPage.of(List.of(1, 2), 3, n -> "after-" + n);
+        assertEquals(List.of(1, 2), partial.getItems());
+        assertNull(partial.getNextCursor());
+
+        // Exactly limit rows: the listing ended, no cursor to an empty page
+        CursorPage<Integer> exact = CursorPage.of(List.of(1, 2, 3), 3, n -> "after-" + n);
+        assertEquals(List.of(1, 2, 3), exact.getItems());
+        assertNull(exact.getNextCursor());
+
+        // limit + 1 rows: the extra row is dropped and the cursor points after the last kept one
+        CursorPage<Integer> more = CursorPage.of(List.of(1, 2, 3, 4), 3, n -> "after-" + n);
+        assertEquals(List.of(1, 2, 3), more.getItems());
+        assertEquals("after-3", more.getNextCursor());
+
+        CursorPage<Integer> single = CursorPage.of(List.of(1, 2), 1, n -> "after-" + n);
+        assertEquals(List.of(1), single.getItems());
+        assertEquals("after-1", single.getNextCursor());
+    }
+}
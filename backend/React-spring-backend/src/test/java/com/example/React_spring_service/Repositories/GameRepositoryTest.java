@@ -0,0 +1,73 @@
+package com.example.React_spring_service.Repositories;
+
+import com.example.React_spring_service.DTO.GameCardDTO;
+import com.example.React_spring_service.Entities.Game;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class GameRepositoryTest {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics() {
+        return entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private List<Long> games(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Game game = Game.builder().name("Game " + i).description("Long description " + i).price(9.99).build();
+            ids.add(entityManager.persist(game).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+
+    @Test
+    void findCardsByIdInIsOneStatementWhateverTheNumberOfIds() {
+        List<Long> ids = games(400);
+
+        for (int size : new int[] { 1, 400 }) {
+            Statistics statistics = statistics();
+            statistics.clear();
+
+            List<GameCardDTO> cards = gameRepository.findCardsByIdIn(ids.subList(0, size));
+
+            assertEquals(size, cards.size());
+            assertEquals(1, statistics.getPrepareStatementCount());
+            // A projection, not entities
+            assertEquals(0, statistics.getEntityLoadCount());
+        }
+        assertEquals("Game 0", gameRepository.findCardsByIdIn(List.of(ids.get(0))).get(0).getName());
+    }
+
+    @Test
+    void findByTagsWithoutTagsMatchesNothingAndSkipsTheQuery() {
+        games(3);
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        assertEquals(List.of(), gameRepository.findByTags(List.of()));
+        assertEquals(List.of(), gameRepository.findByTags(null));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
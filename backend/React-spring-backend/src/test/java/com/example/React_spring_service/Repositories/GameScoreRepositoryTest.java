@@ -0,0 +1,63 @@
+package com.example.React_spring_service.Repositories;
+
+import com.example.React_spring_service.Entities.GamePersonalBest;
+import com.example.React_spring_service.Entities.GameScore;
+import com.example.React_spring_service.Entities.PlayableGame;
+import com.example.React_spring_service.Entities.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class GameScoreRepositoryTest {
+
+    @Autowired
+    private GameScoreRepository gameScoreRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private GameScore attempt(User user, PlayableGame game, int score, LocalDateTime timestamp) {
+        GameScore saved = entityManager.persistAndFlush(GameScore.builder().user(user).playableGame(game).score(score).build());
+        // The entity stamps itself with now() on insert
+        entityManager.getEntityManager().createQuery("UPDATE GameScore gs SET gs.timestamp = :timestamp WHERE gs.id = :id")
+                .setParameter("timestamp", timestamp)
+                .setParameter("id", saved.getId())
+                .executeUpdate();
+        return saved;
+    }
+
+    @Test
+    void pruningKeepsPersonalBestsAndRecentAttemptsAndHonoursTheBatchSize() {
+        User user = entityManager.persist(User.builder().displayName("player").build());
+        PlayableGame game = entityManager.persist(PlayableGame.builder().name("Snake").build());
+        LocalDateTime now = LocalDateTime.now();
+        GameScore best = attempt(user, game, 900, now.minusDays(200));
+        attempt(user, game, 100, now.minusDays(120));
+        attempt(user, game, 200, now.minusDays(100));
+        attempt(user, game, 300, now.minusDays(95));
+        GameScore recent = attempt(user, game, 400, now.minusDays(10));
+        entityManager.persist(GamePersonalBest.builder().user(user).playableGame(game).gameScore(best)
+                .score(900).timestamp(now.minusDays(200)).build());
+        entityManager.flush();
+
+        LocalDateTime cutoff = now.minusDays(90);
+        assertEquals(2, gameScoreRepository.deleteAttemptsBefore(cutoff, 2));
+        assertEquals(1, gameScoreRepository.deleteAttemptsBefore(cutoff, 2));
+        assertEquals(0, gameScoreRepository.deleteAttemptsBefore(cutoff, 2));
+
+        entityManager.clear();
+        assertEquals(List.of(best.getId(), recent.getId()),
+                gameScoreRepository.findAll().stream().map(GameScore::getId).sorted().toList());
+    }
+}
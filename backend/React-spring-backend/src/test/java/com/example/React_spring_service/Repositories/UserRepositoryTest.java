@@ -0,0 +1,96 @@
+package com.example.React_spring_service.Repositories;
+
+import com.example.React_spring_service.Entities.CommunityPost;
+import com.example.React_spring_service.Entities.Game;
+import com.example.React_spring_service.Entities.NotificationCounter;
+import com.example.React_spring_service.Entities.Reward;
+import com.example.React_spring_service.Entities.User;
+import com.example.React_spring_service.Entities.UserLibraryEntry;
+import com.example.React_spring_service.Entities.Wishlist;
+import com.example.React_spring_service.Enum.PostType;
+import com.example.React_spring_service.Enum.UserLevel;
+import com.example.React_spring_service.Repositories.UserRepository.UserStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user(String name, Set<User> friends, Set<Reward> rewards) {
+        return entityManager.persist(User.builder().displayName(name).level(UserLevel.USER)
+                .friends(friends).rewards(rewards).build());
+    }
+
+    private Game game(String name) {
+        return entityManager.persist(Game.builder().name(name).price(9.99).build());
+    }
+
+    private void own(User user, Game game) {
+        entityManager.persist(UserLibraryEntry.builder().userId(user.getId()).gameId(game.getId())
+                .addedAt(LocalDateTime.now()).build());
+    }
+
+    private void post(User author) {
+        entityManager.persist(CommunityPost.builder().title("Post").type(PostType.FORUM_POST).author(author).build());
+    }
+
+    @Test
+    void findStatisticsByIdCountsOnlyTheUsersOwnRows() {
+        Reward badge = entityManager.persist(Reward.builder().title("Badge").costInCoins(10L).build());
+        Reward frame = entityManager.persist(Reward.builder().title("Frame").costInCoins(20L).build());
+        User friend = user("Friend", new HashSet<>(), new HashSet<>(Set.of(badge)));
+        User player = user("Player", new HashSet<>(Set.of(friend)), new HashSet<>(Set.of(badge, frame)));
+        friend.getFriends().add(player);
+        User newcomer = user("Newcomer", new HashSet<>(), new HashSet<>());
+        Game first = game("First");
+        Game second = game("Second");
+        own(player, first);
+        own(player, second);
+        own(friend, first);
+        entityManager.persist(Wishlist.builder().user(player).game(first).build());
+        post(player);
+        post(player);
+        post(player);
+        post(friend);
+        entityManager.persist(NotificationCounter.builder().userId(player.getId()).unreadCount(4L).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        UserStatistics stats = userRepository.findStatisticsById(player.getId()).orElseThrow();
+        assertEquals(player.getId(), stats.getUserId());
+        assertEquals("Player", stats.getDisplayName());
+        assertEquals("USER", stats.getLevel());
+        assertEquals(2, stats.getTotalGames());
+        assertEquals(1, stats.getTotalWishlist());
+        assertEquals(1, stats.getTotalFriends());
+        assertEquals(2, stats.getTotalRewards());
+        assertEquals(3, stats.getTotalPosts());
+        assertEquals(4, stats.getUnreadNotifications());
+
+        // No counter row reads as zero unread
+        UserStatistics empty = userRepository.findStatisticsById(newcomer.getId()).orElseThrow();
+        assertEquals(0, empty.getTotalGames());
+        assertEquals(0, empty.getTotalPosts());
+        assertEquals(0, empty.getUnreadNotifications());
+
+        assertTrue(userRepository.findStatisticsById(-1L).isEmpty());
+    }
+}
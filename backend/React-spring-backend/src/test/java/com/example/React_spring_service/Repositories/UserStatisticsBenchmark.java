@@ -0,0 +1,172 @@
+package com.example.React_spring_service.Repositories;
+
+import com.example.React_spring_service.Entities.CommunityPost;
+import com.example.React_spring_service.Entities.Game;
+import com.example.React_spring_service.Entities.NotificationCounter;
+import com.example.React_spring_service.Entities.Reward;
+import com.example.React_spring_service.Entities.User;
+import com.example.React_spring_service.Entities.UserLibraryEntry;
+import com.example.React_spring_service.Entities.Wishlist;
+import com.example.React_spring_service.Enum.PostType;
+import com.example.React_spring_service.Enum.UserLevel;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Profile statistics of one well-connected user (300 friends, 100 rewards, 1,000 posts,
+ * 200 owned and 50 wishlisted games) read the way getUserStatistics used to, by loading the
+ * User and counting its collections, against the single findStatisticsById query. Runs on
+ * the H2 database of the repository tests, so absolute times are not Postgres times.
+ * Not part of the test run; start it from main or with org.openjdk.jmh.Main on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserStatisticsBenchmark {
+
+    @ImportAutoConfiguration({ DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class })
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class Persistence {
+    }
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private UserRepository userRepository;
+    private UserLibraryRepository libraryRepository;
+    private WishlistRepository wishlistRepository;
+    private NotificationCounterRepository counterRepository;
+    private Long userId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Persistence.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .run();
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        userRepository = context.getBean(UserRepository.class);
+        libraryRepository = context.getBean(UserLibraryRepository.class);
+        wishlistRepository = context.getBean(WishlistRepository.class);
+        counterRepository = context.getBean(NotificationCounterRepository.class);
+
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        userId = new TransactionTemplate(transactionManager).execute(status -> {
+            Set<User> friends = new HashSet<>();
+            for (int i = 0; i < 300; i++) {
+                User friend = User.builder().displayName("Friend " + i).level(UserLevel.USER).build();
+                entityManager.persist(friend);
+                friends.add(friend);
+            }
+            Set<Reward> rewards = new HashSet<>();
+            for (int i = 0; i < 100; i++) {
+                Reward reward = Reward.builder().title("Reward " + i).costInCoins(10L).build();
+                entityManager.persist(reward);
+                rewards.add(reward);
+            }
+            User player = User.builder().displayName("Player").level(UserLevel.USER)
+                    .friends(friends).rewards(rewards).build();
+            entityManager.persist(player);
+            for (int i = 0; i < 1_000; i++) {
+                entityManager.persist(CommunityPost.builder().title("Post " + i).type(PostType.FORUM_POST)
+                        .author(player).build());
+            }
+            for (int i = 0; i < 200; i++) {
+                Game game = Game.builder().name("Game " + i).price(9.99).build();
+                entityManager.persist(game);
+                entityManager.persist(UserLibraryEntry.builder().userId(player.getId()).gameId(game.getId())
+                        .addedAt(LocalDateTime.now()).build());
+                if (i < 50) {
+                    entityManager.persist(Wishlist.builder().user(player).game(game).build());
+                }
+            }
+            entityManager.persist(NotificationCounter.builder().userId(player.getId()).unreadCount(4L).build());
+            return player.getId();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // getUserStatistics before the aggregate query
+    @Benchmark
+    public Map<String, Object> hydrating() {
+        return readOnly.execute(status -> {
+            User user = userRepository.findById(userId).orElseThrow();
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("userId", user.getId());
+            stats.put("displayName", user.getDisplayName());
+            stats.put("level", user.getLevel());
+            stats.put("canSell", user.isCanSell());
+            stats.put("totalGames", libraryRepository.countByUserId(userId));
+            stats.put("totalWishlist", wishlistRepository.countByUserId(userId));
+            stats.put("totalFriends", user.getFriends().size());
+            stats.put("totalRewards", user.getRewards().size());
+            stats.put("totalPosts", user.getCommunityPosts().size());
+            stats.put("unreadNotifications", counterRepository.findUnreadCount(userId).orElse(0L));
+            return stats;
+        });
+    }
+
+    @Benchmark
+    public Map<String, Object> aggregate() {
+        return readOnly.execute(status -> {
+            UserRepository.UserStatistics row = userRepository.findStatisticsById(userId).orElseThrow();
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("userId", row.getUserId());
+            stats.put("displayName", row.getDisplayName());
+            stats.put("level", row.getLevel());
+            stats.put("canSell", Boolean.TRUE.equals(row.getCanSell()));
+            stats.put("totalGames", row.getTotalGames());
+            stats.put("totalWishlist", row.getTotalWishlist());
+            stats.put("totalFriends", row.getTotalFriends());
+            stats.put("totalRewards", row.getTotalRewards());
+            stats.put("totalPosts", row.getTotalPosts());
+            stats.put("unreadNotifications", row.getUnreadNotifications());
+            return stats;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UserStatisticsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
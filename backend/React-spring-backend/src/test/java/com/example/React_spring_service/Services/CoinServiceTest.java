@@ -0,0 +1,237 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.DTO.CursorPage;
+import com.example.React_spring_service.Entities.CoinBalance;
+import com.example.React_spring_service.Entities.CoinTransaction;
+import com.example.React_spring_service.Entities.User;
+import com.example.React_spring_service.Repositories.CoinBalanceRepository;
+import com.example.React_spring_service.Repositories.CoinTransactionRepository;
+import com.example.React_spring_service.Repositories.UserRepository;
+import com.example.React_spring_service.Util.KeysetCursor;
+import com.example.React_spring_service.Util.StripedLocks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CoinServiceTest {
+
+    private static final int STRIPES = 64;
+
+    @Mock
+    private CoinTransactionRepository transactionRepository;
+
+    @Mock
+    private CoinBalanceRepository balanceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CoinService coinService;
+
+    // Stand-in for coin_balances. The "conditional update" below is deliberately
+    // a non-atomic read-check-write, so only the service's locking keeps it safe.
+    private final Map<Long, Long> balances = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        coinService = new CoinService(transactionRepository, balanceRepository, userRepository, jdbcTemplate,
+                transactionManager, STRIPES);
+
+        lenient().when(transactionRepository.save(any(CoinTransaction.class))).thenAnswer(inv -> inv.getArgument(0));
+        lenient().when(balanceRepository.findBalanceByUserId(anyLong()))
+                .thenAnswer(inv -> Optional.ofNullable(balances.get(inv.<Long>getArgument(0))));
+        lenient().when(balanceRepository.trySpend(anyLong(), anyLong())).thenAnswer(inv -> {
+            Long userId = inv.getArgument(0);
+            long amount = inv.getArgument(1);
+            long current = balances.getOrDefault(userId, 0L);
+            Thread.yield(); // widen the race window
+            if (current + amount < 0) {
+                return 0;
+            }
+            balances.put(userId, current + amount);
+            return 1;
+        });
+    }
+
+    private User user(long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    void createTransaction_RejectsOverdraft() {
+        balances.put(1L, 50L);
+
+        CoinService.InsufficientFundsException e = assertThrows(CoinService.InsufficientFundsException.class,
+                () -> coinService.createTransaction(user(1L), -100L, "REDEEM"));
+
+        assertEquals(50L, e.getBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void concurrentSpends_NeverOverdraw() throws Exception {
+        int users = 4;
+        int threads = 16;
+        int spendsPerThread = 500;
+        long startingBalance = 1_000L;
+        for (long id = 1; id <= users; id++) {
+            balances.put(id, startingBalance);
+        }
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long userId = (t % users) + 1;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < spendsPerThread; i++) {
+                    try {
+                        coinService.createTransaction(user(userId), -3L, "REDEEM");
+                        accepted.incrementAndGet();
+                    } catch (CoinService.InsufficientFundsException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        for (long id = 1; id <= users; id++) {
+            long balance = balances.get(id);
+            assertTrue(balance >= 0, "user " + id + " overdrawn: " + balance);
+            // 1000 / 3 leaves 1 coin that can never be spent
+            assertEquals(1L, balance);
+        }
+        assertEquals(users * (startingBalance / 3), accepted.get());
+        assertEquals(threads * spendsPerThread, accepted.get() + rejected.get());
+    }
+
+    @Test
+    void spendsForDifferentUsers_RunInParallel() throws Exception {
+        StripedLocks probe = new StripedLocks(STRIPES);
+        long blockedUser = 1L;
+        long otherUser = 2L;
+        while (probe.stripeOf(otherUser) == probe.stripeOf(blockedUser)) {
+            otherUser++;
+        }
+        long freeUser = otherUser;
+        balances.put(blockedUser, 100L);
+        balances.put(freeUser, 100L);
+
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(balanceRepository.trySpend(eq(blockedUser), anyLong())).thenAnswer(inv -> {
+            inside.countDown();
+            release.await();
+            return 1;
+        });
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<?> blocked = pool.submit(() -> coinService.createTransaction(user(blockedUser), -10L, "REDEEM"));
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+        // Holds user 1's stripe; user 2 must still go through straight away
+        CoinService.TransactionResult result = coinService.createTransaction(user(freeUser), -10L, "REDEEM");
+        assertEquals(90L, result.balance());
+
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createTransactions_ValidatesEachItemAgainstRunningBalance() {
+        when(userRepository.findExistingIds(any())).thenReturn(List.of(1L, 2L));
+        when(balanceRepository.findAllById(any())).thenReturn(List.of(new CoinBalance(1L, 100L, null)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][] { { 1, 1 } });
+
+        List<CoinService.BulkItemResult> results = coinService.createTransactions(List.of(
+                new CoinService.BulkItem(1L, -60L, "REDEEM"),
+                new CoinService.BulkItem(1L, -60L, "REDEEM"),
+                new CoinService.BulkItem(2L, 25L, null),
+                new CoinService.BulkItem(3L, 10L, "REWARD"),
+                new CoinService.BulkItem(2L, null, "REWARD")));
+
+        assertEquals(List.of("ok", "error", "ok", "error", "error"),
+                results.stream().map(CoinService.BulkItemResult::status).toList());
+        assertEquals(40L, results.get(0).balance());
+        assertEquals("insufficient_funds", results.get(1).error());
+        assertEquals(25L, results.get(2).balance());
+        assertEquals("user_not_found", results.get(3).error());
+        assertEquals("amount_required", results.get(4).error());
+
+        // One batch for the inserts and one for the ledger, no per-item round trips
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(userRepository, times(1)).findExistingIds(any());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void getTransactionHistory_FetchesOneExtraRowAndRejectsForeignCursors() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        List<CoinTransaction> rows = List.of(
+                CoinTransaction.builder().id(9L).amount(5L).timestamp(now).build(),
+                CoinTransaction.builder().id(8L).amount(5L).timestamp(now).build(),
+                CoinTransaction.builder().id(7L).amount(5L).timestamp(now.minusDays(1)).build());
+        when(transactionRepository.findHistoryPage(eq(1L), any())).thenReturn(rows);
+        when(transactionRepository.findHistoryPageAfter(eq(1L), eq(now), eq(8L), any())).thenReturn(rows.subList(2, 3));
+
+        CursorPage<CoinTransaction> first = coinService.getTransactionHistory(1L, null, 2);
+        assertEquals(List.of(9L, 8L), first.getItems().stream().map(CoinTransaction::getId).toList());
+        verify(transactionRepository).findHistoryPage(1L, PageRequest.of(0, 3));
+
+        CursorPage<CoinTransaction> second = coinService.getTransactionHistory(1L, first.getNextCursor(), 2);
+        assertEquals(List.of(7L), second.getItems().stream().map(CoinTransaction::getId).toList());
+        assertNull(second.getNextCursor());
+
+        String catalogCursor = KeysetCursor.encode("PRICE_ASC", 9.99, 3L);
+        String garbled = KeysetCursor.encode("yesterday", "eight");
+        assertThrows(IllegalArgumentException.class, () -> coinService.getTransactionHistory(1L, catalogCursor, 2));
+        assertThrows(IllegalArgumentException.class, () -> coinService.getTransactionHistory(1L, garbled, 2));
+        assertThrows(IllegalArgumentException.class, () -> coinService.getTransactionHistory(1L, "%%%", 2));
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.Repositories.UserLibraryRepository;
+import com.example.React_spring_service.Repositories.UserRepository;
+import com.example.React_spring_service.Util.LongIdSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FriendGraphServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserLibraryRepository libraryRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private FriendGraphService graph;
+
+    // 1 is friends with 2, 3 and 4; 5 is a friend of 2, 3 and 4; 6 of 2 only
+    private final Map<Long, long[]> edges = new TreeMap<>(Map.of(
+            1L, new long[] { 2, 3, 4 },
+            2L, new long[] { 1, 5, 6 },
+            3L, new long[] { 1, 5 },
+            4L, new long[] { 1, 5 },
+            5L, new long[] { 2, 3, 4 },
+            6L, new long[] { 2 }));
+
+    // Serves the adjacency query from the edges map, honoring the requested IDs
+    private final Answer<Object> adjacencyQuery = call -> {
+        Connection con = mock(Connection.class);
+        when(con.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        Object[][] requested = new Object[1][];
+        when(con.createArrayOf(eq("bigint"), any())).thenAnswer(array -> {
+            requested[0] = array.getArgument(1);
+            return mock(Array.class);
+        });
+        call.<PreparedStatementCreator>getArgument(0).createPreparedStatement(con);
+
+        RowCallbackHandler handler = call.getArgument(1);
+        long[] ids = Arrays.stream(requested[0]).mapToLong(id -> (Long) id).sorted().toArray();
+        for (long userId : ids) {
+            for (long friendId : edges.getOrDefault(userId, new long[0])) {
+                ResultSet row = mock(ResultSet.class);
+                when(row.getLong(1)).thenReturn(userId);
+                when(row.getLong(2)).thenReturn(friendId);
+                handler.processRow(row);
+            }
+        }
+        return null;
+    };
+
+    @BeforeEach
+    void setUp() {
+        graph = new FriendGraphService(userRepository, libraryRepository, jdbcTemplate, 1000);
+        lenient().doAnswer(adjacencyQuery).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void mutualFriendsIsTheIntersectionAndListsAreCached() {
+        assertEquals(LongIdSet.of(1, 5), graph.mutualFriends(3L, 4L));
+        assertEquals(LongIdSet.of(1, 5), graph.mutualFriends(2L, 3L));
+        assertEquals(LongIdSet.of(), graph.mutualFriends(6L, 3L));
+        assertEquals(LongIdSet.of(2, 3, 4), graph.friendsOf(1L));
+
+        // 3, 4, 2, 6 and 1 are each loaded once; nothing is reloaded
+        verify(jdbcTemplate, times(5)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void suggestionsRankFriendsOfFriendsByMutualCount() {
+        FriendGraphService.Suggestions suggestions = graph.suggestFriends(1L, 10);
+
+        // 5 shares three friends with 1, 6 shares one; 1 itself and its friends are excluded
+        assertArrayEquals(new long[] { 5, 6 }, suggestions.userIds());
+        assertArrayEquals(new int[] { 3, 1 }, suggestions.mutualFriends());
+        // The user's list and then all of the friends' lists in one more query
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void changingAFriendshipDropsBothCachedLists() {
+        graph.friendsOf(1L);
+        graph.friendsOf(6L);
+        when(userRepository.addFriendship(1L, 6L)).thenAnswer(call -> {
+            edges.put(1L, new long[] { 2, 3, 4, 6 });
+            edges.put(6L, new long[] { 1, 2 });
+            return 2;
+        });
+
+        assertTrue(graph.connect(1L, 6L));
+
+        assertEquals(LongIdSet.of(2, 3, 4, 6), graph.friendsOf(1L));
+        assertEquals(LongIdSet.of(1, 2), graph.friendsOf(6L));
+    }
+
+    @Test
+    void aListLoadedWhileAFriendshipChangedIsNotCached() {
+        when(userRepository.removeFriendship(1L, 2L)).thenAnswer(call -> {
+            edges.put(1L, new long[] { 3, 4 });
+            edges.put(2L, new long[] { 5, 6 });
+            return 2;
+        });
+        // The first load of 1 reads its old list, then the friendship ends before the list is cached
+        doAnswer(call -> {
+            adjacencyQuery.answer(call);
+            graph.disconnect(1L, 2L);
+            return null;
+        }).doAnswer(adjacencyQuery).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        assertEquals(LongIdSet.of(2, 3, 4), graph.friendsOf(1L));
+        // So the next read goes back to the database
+        assertEquals(LongIdSet.of(3, 4), graph.friendsOf(1L));
+        assertEquals(LongIdSet.of(3, 4), graph.friendsOf(1L));
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void connectingManyDropsTheListsOfFriendsThatOnlyGainedTheReverseRow() {
+        // 1 already has its row to 6, but 6 lacks the row back to 1
+        edges.put(1L, new long[] { 2, 3, 4, 6 });
+        graph.friendsOf(1L);
+        graph.friendsOf(6L);
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), ArgumentMatchers.<RowMapper<Long>>any())).thenAnswer(call -> {
+            edges.put(6L, new long[] { 1, 2 });
+            // Only the reverse row was inserted, so nothing is new on 1's side
+            return List.of();
+        });
+
+        assertEquals(List.of(), graph.connectAll(1L, List.of(3L, 6L)));
+
+        assertEquals(LongIdSet.of(1, 2), graph.friendsOf(6L));
+        assertEquals(LongIdSet.of(2, 3, 4, 6), graph.friendsOf(1L));
+    }
+
+    @Test
+    void friendsOwningAGameAsksOnlyAboutFriends() {
+        when(libraryRepository.findOwnersAmong(eq(99L), anyCollection())).thenReturn(List.of(3L));
+
+        assertEquals(List.of(3L), graph.friendsOwning(1L, 99L));
+        verify(libraryRepository).findOwnersAmong(99L, List.of(2L, 3L, 4L));
+    }
+}
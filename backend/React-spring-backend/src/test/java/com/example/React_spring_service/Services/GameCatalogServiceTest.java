@@ -0,0 +1,149 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.DTO.CursorPage;
+import com.example.React_spring_service.DTO.GameCardDTO;
+import com.example.React_spring_service.Entities.Game;
+import com.example.React_spring_service.Enum.CatalogSort;
+import com.example.React_spring_service.Services.GameCatalogService.CatalogFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(GameCatalogService.class)
+public class GameCatalogServiceTest {
+
+    private static final CatalogFilter NO_FILTER = new CatalogFilter(null, null, null, null);
+
+    @Autowired
+    private GameCatalogService catalogService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final List<Game> games = new ArrayList<>();
+
+    private void game(Double price, Double rating, LocalDate released, boolean onSale, String developer) {
+        games.add(entityManager.persist(Game.builder().name("Game " + games.size()).price(price).rating(rating)
+                .dateReleased(released).onSale(onSale).developer(developer).build()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Ties on every key and games without one, spread so pages of two split both
+        LocalDate day = LocalDate.of(2024, 5, 1);
+        game(10.0, 4.5, day, false, "Taito");
+        game(null, 3.0, null, true, "Group 1");
+        game(5.0, 4.5, day.plusDays(3), true, "taito");
+        game(10.0, null, day, false, "Neon Works");
+        game(20.0, 2.0, null, true, "Group 1");
+        game(null, null, day.plusDays(3), false, "Taito");
+        game(10.0, 4.5, day.minusDays(9), true, "Stellar");
+        game(5.0, 3.0, day, false, "Group 1");
+        game(null, 4.5, day, true, "Neon Works");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // Every card of the catalog, following the cursors through pages of the given size
+    private List<Long> readAll(CatalogFilter filter, CatalogSort sort, int limit) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<GameCardDTO> page = catalogService.getCatalogPage(filter, sort, cursor, limit);
+            assertTrue(page.getItems().size() <= limit);
+            page.getItems().forEach(card -> ids.add(card.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null && ids.size() <= games.size());
+        return ids;
+    }
+
+    // Key then ID, both ascending or both descending, with games lacking the key last by ID ascending
+    private static <T extends Comparable<? super T>> List<Long> expected(List<Game> games, Function<Game, T> key,
+            boolean descending) {
+        Comparator<Game> keyed = Comparator.comparing(key).thenComparing(Game::getId);
+        return Stream.concat(
+                        games.stream().filter(game -> key.apply(game) != null)
+                                .sorted(descending ? keyed.reversed() : keyed),
+                        games.stream().filter(game -> key.apply(game) == null)
+                                .sorted(Comparator.comparing(Game::getId)))
+                .map(Game::getId)
+                .toList();
+    }
+
+    private List<Long> expected(List<Game> games, CatalogSort sort) {
+        return switch (sort.attribute()) {
+            case "price" -> expected(games, Game::getPrice, sort.descending());
+            case "rating" -> expected(games, Game::getRating, sort.descending());
+            default -> expected(games, Game::getDateReleased, sort.descending());
+        };
+    }
+
+    @Test
+    void pagesThroughTiesAndMissingKeysInEverySort() {
+        for (CatalogSort sort : CatalogSort.values()) {
+            List<Long> all = expected(games, sort);
+            for (int limit : new int[] { 1, 2, 4, games.size() }) {
+                assertEquals(all, readAll(NO_FILTER, sort, limit), sort + " in pages of " + limit);
+            }
+        }
+    }
+
+    @Test
+    void theLastPageHasNoCursor() {
+        CursorPage<GameCardDTO> page = catalogService.getCatalogPage(NO_FILTER, CatalogSort.PRICE_ASC, null, games.size());
+
+        assertEquals(games.size(), page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertNotNull(catalogService.getCatalogPage(NO_FILTER, CatalogSort.PRICE_ASC, null, games.size() - 1)
+                .getNextCursor());
+    }
+
+    @Test
+    void filtersApplyAcrossPages() {
+        CatalogFilter onSale = new CatalogFilter(true, null, null, null);
+        assertEquals(expected(games.stream().filter(Game::isOnSale).toList(), CatalogSort.RATING_DESC),
+                readAll(onSale, CatalogSort.RATING_DESC, 2));
+
+        // Games without a price never match a price bound
+        CatalogFilter priced = new CatalogFilter(null, 5.0, 10.0, null);
+        assertEquals(expected(games.stream()
+                        .filter(game -> game.getPrice() != null && game.getPrice() >= 5.0 && game.getPrice() <= 10.0)
+                        .toList(), CatalogSort.PRICE_DESC),
+                readAll(priced, CatalogSort.PRICE_DESC, 2));
+
+        CatalogFilter taito = new CatalogFilter(null, null, null, " TAITO ");
+        assertEquals(expected(games.stream().filter(game -> game.getDeveloper().equalsIgnoreCase("taito")).toList(),
+                CatalogSort.RELEASED_ASC), readAll(taito, CatalogSort.RELEASED_ASC, 2));
+
+        assertTrue(readAll(new CatalogFilter(false, 15.0, null, null), CatalogSort.PRICE_ASC, 2).isEmpty());
+    }
+
+    @Test
+    void rejectsCursorsOfAnotherSortAndMalformedOnes() {
+        String cursor = catalogService.getCatalogPage(NO_FILTER, CatalogSort.PRICE_ASC, null, 2).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> catalogService.getCatalogPage(NO_FILTER, CatalogSort.PRICE_DESC, cursor, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> catalogService.getCatalogPage(NO_FILTER, CatalogSort.RELEASED_ASC, cursor, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> catalogService.getCatalogPage(NO_FILTER, CatalogSort.PRICE_ASC, "not a cursor", 2));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.Repositories.GameScoreRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GameScoreRetentionJobTest {
+
+    @Mock
+    private GameScoreRepository gameScoreRepository;
+
+    private GameScoreRetentionJob job(int retentionDays, int batchSize) {
+        GameScoreRetentionJob job = new GameScoreRetentionJob(gameScoreRepository);
+        ReflectionTestUtils.setField(job, "retentionDays", retentionDays);
+        ReflectionTestUtils.setField(job, "batchSize", batchSize);
+        return job;
+    }
+
+    @Test
+    void prunesInBatchesUntilOneComesBackShort() {
+        when(gameScoreRepository.deleteAttemptsBefore(any(), eq(100))).thenReturn(100, 100, 37);
+
+        job(30, 100).prune();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(gameScoreRepository, times(3)).deleteAttemptsBefore(cutoff.capture(), eq(100));
+        // Every batch uses the same cutoff, retentionDays before now
+        assertEquals(1, cutoff.getAllValues().stream().distinct().count());
+        Duration age = Duration.between(cutoff.getValue(), LocalDateTime.now());
+        assertTrue(age.compareTo(Duration.ofDays(30)) >= 0 && age.compareTo(Duration.ofDays(30).plusMinutes(1)) < 0);
+    }
+
+    @Test
+    void doesNothingWhenRetentionIsDisabled() {
+        job(0, 100).prune();
+
+        verifyNoInteractions(gameScoreRepository);
+    }
+}
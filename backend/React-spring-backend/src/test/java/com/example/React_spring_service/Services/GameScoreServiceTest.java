@@ -0,0 +1,125 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.DTO.GameScoreDTO;
+import com.example.React_spring_service.Entities.GameScore;
+import com.example.React_spring_service.Entities.PlayableGame;
+import com.example.React_spring_service.Entities.User;
+import com.example.React_spring_service.Enum.LeaderboardWindow;
+import com.example.React_spring_service.Repositories.GamePersonalBestRepository;
+import com.example.React_spring_service.Repositories.GameScoreRepository;
+import com.example.React_spring_service.Repositories.PlayableGameRepository;
+import com.example.React_spring_service.Repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GameScoreServiceTest {
+
+    @Mock
+    private GameScoreRepository gameScoreRepository;
+
+    @Mock
+    private GamePersonalBestRepository personalBestRepository;
+
+    @Mock
+    private PlayableGameRepository playableGameRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private LeaderboardEngine leaderboardEngine;
+
+    @InjectMocks
+    private GameScoreService gameScoreService;
+
+    private static GameScore score(long id, int score, LocalDateTime timestamp) {
+        return GameScore.builder()
+                .id(id)
+                .user(User.builder().id(1L).build())
+                .playableGame(PlayableGame.builder().id(7L).build())
+                .score(score)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    @Test
+    void submitScoreOffersTheAttemptAsThePersonalBest() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(User.builder().id(1L).build()));
+        when(playableGameRepository.findById(7L)).thenReturn(Optional.of(PlayableGame.builder().id(7L).build()));
+        when(gameScoreRepository.save(any(GameScore.class))).thenAnswer(call -> {
+            GameScore saved = call.getArgument(0);
+            saved.setId(42L);
+            return saved;
+        });
+
+        GameScore saved = gameScoreService.submitScore(GameScoreDTO.builder().userId(1L).gameId(7L).score(300).build());
+
+        assertEquals(300, saved.getScore());
+        verify(personalBestRepository).offer(42L);
+        verify(leaderboardEngine).record(saved);
+    }
+
+    @Test
+    void canSubmitOnlyForAnExistingUserAndGame() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(false);
+        when(playableGameRepository.existsById(7L)).thenReturn(true);
+        when(playableGameRepository.existsById(8L)).thenReturn(false);
+
+        assertTrue(gameScoreService.canSubmit(GameScoreDTO.builder().userId(1L).gameId(7L).score(300).build()));
+        assertFalse(gameScoreService.canSubmit(GameScoreDTO.builder().userId(2L).gameId(7L).score(300).build()));
+        assertFalse(gameScoreService.canSubmit(GameScoreDTO.builder().userId(1L).gameId(8L).score(300).build()));
+    }
+
+    @Test
+    void deletingTheBestRebuildsItFromTheRemainingAttempts() {
+        LocalDateTime old = LocalDateTime.now().minusDays(30);
+        GameScore best = score(1, 500, old);
+        GameScore next = score(2, 400, old);
+        when(gameScoreRepository.findById(1L)).thenReturn(Optional.of(best));
+        when(personalBestRepository.deleteByGameScoreId(1L)).thenReturn(1);
+        when(personalBestRepository.findBestScore(1L, 7L)).thenReturn(Optional.of(next));
+
+        gameScoreService.deleteScore(1L);
+
+        verify(gameScoreRepository).delete(best);
+        verify(personalBestRepository).rebuild(1L, 7L);
+        // A month-old attempt cannot be on the daily or weekly boards
+        verify(gameScoreRepository, never())
+                .findFirstByUserIdAndPlayableGameIdAndTimestampGreaterThanEqualOrderByScoreDescTimestampAscIdAsc(
+                        anyLong(), anyLong(), any());
+        verify(leaderboardEngine).remove(best, Map.of(LeaderboardWindow.ALL_TIME, next));
+    }
+
+    @Test
+    void deletingAnotherAttemptLeavesTheBestAlone() {
+        GameScore attempt = score(3, 100, LocalDateTime.now());
+        GameScore weeklyBest = score(4, 250, LocalDateTime.now());
+        when(gameScoreRepository.findById(3L)).thenReturn(Optional.of(attempt));
+        when(personalBestRepository.deleteByGameScoreId(3L)).thenReturn(0);
+        when(gameScoreRepository
+                .findFirstByUserIdAndPlayableGameIdAndTimestampGreaterThanEqualOrderByScoreDescTimestampAscIdAsc(
+                        eq(1L), eq(7L), any()))
+                .thenReturn(Optional.of(weeklyBest));
+
+        gameScoreService.deleteScore(3L);
+
+        verify(personalBestRepository, never()).rebuild(anyLong(), anyLong());
+        verify(leaderboardEngine).remove(attempt,
+                Map.of(LeaderboardWindow.DAILY, weeklyBest, LeaderboardWindow.WEEKLY, weeklyBest));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.React_spring_service.Services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of search and suggest over a synthetic 100k-game catalog whose description words
+ * are skewed like real text. The budget is a p99 under 10 ms for both; main runs the
+ * benchmark and fails if either is over. Not part of the test run; start it from main.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameSearchIndexBenchmark {
+
+    private static final double P99_BUDGET_MS = 10;
+    private static final int QUERIES = 4_096;
+
+    private GameSearchIndex index;
+    private String[] searches;
+    private String[] suggestions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        String[] vocabulary = new String[5_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int length = 4 + random.nextInt(6); length > 0; length--) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulary[i] = word.toString();
+        }
+        // Outside a transaction put() indexes straight away, so no repository is needed
+        index = new GameSearchIndex(null);
+        for (long id = 1; id <= 100_000; id++) {
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 40; w++) {
+                description.append(vocabulary[(int) (vocabulary.length * Math.pow(random.nextDouble(), 3))]).append(' ');
+            }
+            index.put(id, vocabulary[random.nextInt(vocabulary.length)] + " " + vocabulary[random.nextInt(vocabulary.length)],
+                    description.toString(), vocabulary[random.nextInt(200)], vocabulary[random.nextInt(200)],
+                    List.of(vocabulary[random.nextInt(300)], vocabulary[random.nextInt(300)]));
+        }
+
+        searches = new String[QUERIES];
+        suggestions = new String[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            String first = vocabulary[(int) (vocabulary.length * Math.pow(random.nextDouble(), 2))];
+            String second = vocabulary[random.nextInt(vocabulary.length)];
+            searches[q] = first + " " + second.substring(0, 3);
+            // A prefix with two letters swapped
+            suggestions[q] = second.substring(0, 2) + second.charAt(3) + second.charAt(2);
+        }
+    }
+
+    @Benchmark
+    public List<GameSearchIndex.Hit> search() {
+        return index.search(searches[next++ & (QUERIES - 1)], 20);
+    }
+
+    @Benchmark
+    public List<GameSearchIndex.Suggestion> suggest() {
+        return index.suggest(suggestions[next++ & (QUERIES - 1)], 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (RunResult result : new Runner(new OptionsBuilder()
+                .include(GameSearchIndexBenchmark.class.getSimpleName()).build()).run()) {
+            double p99 = result.getPrimaryResult().getStatistics().getPercentile(99);
+            if (p99 >= P99_BUDGET_MS) {
+                throw new IllegalStateException(result.getParams().getBenchmark() + " p99 of " + p99
+                        + " ms is over the " + P99_BUDGET_MS + " ms budget");
+            }
+        }
+    }
+}
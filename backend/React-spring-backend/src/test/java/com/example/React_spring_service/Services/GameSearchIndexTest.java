@@ -0,0 +1,171 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.Repositories.GameRepository;
+import com.example.React_spring_service.Repositories.GameRepository.GameText;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GameSearchIndexTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    private static GameText game(long id, String name, String description, String developer, String... tags) {
+        return new GameText() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public String getDeveloper() {
+                return developer;
+            }
+
+            @Override
+            public String getPublisher() {
+                return "Revature";
+            }
+
+            @Override
+            public List<String> getTags() {
+                return List.of(tags);
+            }
+        };
+    }
+
+    private GameSearchIndex warmIndex(List<GameText> games) {
+        when(gameRepository.streamAllText()).thenReturn(games.stream());
+        GameSearchIndex index = new GameSearchIndex(gameRepository);
+        index.warm();
+        return index;
+    }
+
+    private GameSearchIndex catalog() {
+        return warmIndex(List.of(
+                game(1, "Space Invaders", "Defend the earth from waves of aliens.", "Taito", "Arcade", "Shooter"),
+                game(2, "Bubble Trouble", "Pop bubbles and clear levels in this classic arcade game!", "Group 1",
+                        "Action", "Arcade"),
+                game(3, "Cyber Protocol", "A hardcore shooter set in space, against rogue AIs.", "Neon Works",
+                        "Cyberpunk", "Shooter"),
+                game(4, "Flappy Bird", "Fly between the pipes. Don't touch them.", "Group 1", "Casual"),
+                game(5, "Galaxy Café", "Run a cozy café on the edge of the galaxy.", "Stellar", "Casual", "Space")));
+    }
+
+    private static List<Long> ids(List<GameSearchIndex.Hit> hits) {
+        return hits.stream().map(GameSearchIndex.Hit::gameId).toList();
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatchesAndRequiresEveryWord() {
+        GameSearchIndex index = catalog();
+
+        // In the name of 1, a tag of 5 and the description of 3
+        assertEquals(List.of(1L, 5L, 3L), ids(index.search("space", 10)));
+        assertEquals(List.of(3L), ids(index.search("space shooter hardcore", 10)));
+        assertEquals(List.of(2L, 4L), ids(index.search("group", 10)).stream().sorted().toList());
+        assertTrue(index.search("space bubbles", 10).isEmpty());
+        assertTrue(index.search("the of", 10).isEmpty());
+        // The last word is a prefix, accents are folded
+        assertEquals(List.of(2L), ids(index.search("classic arc", 10)).subList(0, 1));
+        assertEquals(List.of(5L), ids(index.search("CAFE", 10)));
+        assertEquals(1, index.search("space", 1).size());
+    }
+
+    @Test
+    void suggestsNamesDespiteTypos() {
+        GameSearchIndex index = catalog();
+
+        assertEquals(List.of(new GameSearchIndex.Suggestion(1, "Space Invaders")), index.suggest("space inv", 10));
+        assertEquals("Space Invaders", index.suggest("invdaers", 10).get(0).name());
+        assertEquals("Bubble Trouble", index.suggest("bubel", 10).get(0).name());
+        assertEquals(List.of("Flappy Bird"), index.suggest("fl", 10).stream().map(GameSearchIndex.Suggestion::name).toList());
+        // Earlier words must be in the name as typed
+        assertTrue(index.suggest("galaxy inv", 10).isEmpty());
+    }
+
+    @Test
+    void updatesAndRemovalsApplyIncrementallyAcrossCompactions() {
+        GameSearchIndex index = catalog();
+
+        index.put(4, "Flappy Dragon", "Fly between the towers.", "Group 1", "Publisher", List.of("Casual"));
+        index.remove(1);
+        // Enough rewrites of one game to make the index compact its dead documents
+        for (int i = 0; i < 3_000; i++) {
+            index.put(100, "Rewritten " + i, "", "Studio", "Publisher", List.of());
+        }
+
+        assertTrue(index.search("bird", 10).isEmpty());
+        assertEquals(List.of(4L), ids(index.search("dragon", 10)));
+        assertEquals(List.of(5L, 3L), ids(index.search("space", 10)));
+        assertTrue(index.suggest("invaders", 10).isEmpty());
+        assertEquals(List.of(100L), ids(index.search("rewritten 2999", 10)));
+        assertTrue(index.search("rewritten 1500", 10).isEmpty());
+        verify(gameRepository, times(1)).streamAllText();
+    }
+
+    @Test
+    void returnsExactlyTheGamesContainingEveryWord() {
+        // Few words, so lists of very different lengths meet in the intersection
+        String[] vocabulary = { "red", "green", "blue", "cyan", "gold", "grey", "pink", "teal", "lime", "navy" };
+        Random random = new Random(11);
+        List<GameText> games = new ArrayList<>();
+        Map<Long, Set<String>> wordsByGame = new HashMap<>();
+        for (long id = 1; id <= 3_000; id++) {
+            // The name, developer and publisher are in every game too
+            Set<String> words = new HashSet<>(Set.of("xylo", "quasar", "revature"));
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 6; w++) {
+                // Skewed, so "red" is in most games and "navy" in few
+                String word = vocabulary[(int) (vocabulary.length * Math.pow(random.nextDouble(), 2.5))];
+                words.add(word);
+                description.append(word).append(' ');
+            }
+            games.add(game(id, "Xylo", description.toString(), "Quasar"));
+            wordsByGame.put(id, words);
+        }
+        GameSearchIndex index = warmIndex(games);
+
+        for (int q = 0; q < 200; q++) {
+            List<String> query = new ArrayList<>();
+            for (int w = 1 + random.nextInt(3); w > 0; w--) {
+                query.add(vocabulary[random.nextInt(vocabulary.length)]);
+            }
+            // The last word as typed so far; "g" completes to green, gold and grey
+            String last = query.remove(query.size() - 1).substring(0, 1 + random.nextInt(3));
+            List<Long> expected = wordsByGame.entrySet().stream()
+                    .filter(game -> game.getValue().containsAll(query)
+                            && game.getValue().stream().anyMatch(word -> word.startsWith(last)))
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toList();
+
+            List<Long> found = ids(index.search(String.join(" ", query) + " " + last, games.size()));
+            assertEquals(expected, found.stream().sorted().toList(), String.join(" ", query) + " " + last);
+        }
+    }
+}
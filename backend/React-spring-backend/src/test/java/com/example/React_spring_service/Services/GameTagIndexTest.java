@@ -0,0 +1,91 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.Repositories.GameRepository;
+import com.example.React_spring_service.Repositories.GameRepository.GameTags;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GameTagIndexTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    private static GameTags row(long id, String... tags) {
+        return new GameTags() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public List<String> getTags() {
+                return List.of(tags);
+            }
+        };
+    }
+
+    private GameTagIndex warmIndex() {
+        when(gameRepository.findAllTags()).thenReturn(List.of(
+                row(1, "Action", "Arcade", "Shooter"),
+                row(2, "Arcade", "Casual", "Indie"),
+                row(3, "Cyberpunk", "WebGL", "Hardcore", "action"),
+                row(4, "Indie", "Puzzle")));
+        GameTagIndex index = new GameTagIndex(gameRepository);
+        index.warm();
+        return index;
+    }
+
+    @Test
+    void answersAndOrNotFiltersWithFacets() {
+        GameTagIndex index = warmIndex();
+
+        assertArrayEquals(new long[] { 1, 3 }, index.search(List.of("ACTION"), List.of(), List.of(), -1, 10, 0).ids());
+        assertArrayEquals(new long[] { 1 }, index.search(List.of("action", "arcade"), List.of(), List.of(), -1, 10, 0).ids());
+        assertArrayEquals(new long[] { 1, 2, 4 }, index.search(List.of(), List.of("arcade", "indie"), List.of(), -1, 10, 0).ids());
+        assertArrayEquals(new long[] { 2, 3, 4 }, index.search(List.of(), List.of(), List.of("shooter"), -1, 10, 0).ids());
+        assertEquals(0, index.search(List.of("action", "unknown"), List.of(), List.of(), -1, 10, 5).total());
+
+        GameTagIndex.Result indie = index.search(List.of("indie"), List.of(), List.of(), -1, 10, 2);
+        assertEquals(2, indie.total());
+        // Indie itself is on both, then ties break alphabetically
+        assertEquals(Map.of("Indie", 2, "Arcade", 1), indie.facets());
+        assertEquals(List.of("Indie", "Arcade"), List.copyOf(indie.facets().keySet()));
+    }
+
+    @Test
+    void pagesByIdAfterTheCursor() {
+        GameTagIndex index = warmIndex();
+
+        GameTagIndex.Result first = index.search(List.of(), List.of(), List.of(), -1, 3, 0);
+        GameTagIndex.Result second = index.search(List.of(), List.of(), List.of(), first.ids()[2], 3, 0);
+
+        assertArrayEquals(new long[] { 1, 2, 3 }, first.ids());
+        assertArrayEquals(new long[] { 4 }, second.ids());
+        assertEquals(4, second.total());
+    }
+
+    @Test
+    void updatesAndRemovalsApplyIncrementally() {
+        GameTagIndex index = warmIndex();
+
+        index.put(2, List.of("Puzzle", "Co-op"));
+        index.put(5, List.of("co-op"));
+        index.remove(4);
+
+        assertArrayEquals(new long[] { 2 }, index.search(List.of("puzzle"), List.of(), List.of(), -1, 10, 0).ids());
+        assertArrayEquals(new long[] { 2, 5 }, index.search(List.of("Co-Op"), List.of(), List.of(), -1, 10, 0).ids());
+        assertEquals(0, index.search(List.of("indie"), List.of(), List.of(), -1, 10, 0).total());
+        assertEquals(Map.of("Arcade", 1, "Action", 1, "Shooter", 1),
+                index.search(List.of("arcade"), List.of(), List.of(), -1, 10, 10).facets());
+        verify(gameRepository, times(1)).findAllTags();
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.DTO.LeaderboardEntryDTO;
+import com.example.React_spring_service.Entities.GameScore;
+import com.example.React_spring_service.Entities.PlayableGame;
+import com.example.React_spring_service.Entities.User;
+import com.example.React_spring_service.Enum.LeaderboardWindow;
+import com.example.React_spring_service.Repositories.GamePersonalBestRepository;
+import com.example.React_spring_service.Repositories.GamePersonalBestRepository.LeaderboardRow;
+import com.example.React_spring_service.Repositories.GameScoreRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardEngineTest {
+
+    private static final LocalDateTime EARLY = LocalDateTime.of(2025, 6, 1, 10, 0);
+    private static final LocalDateTime LATE = EARLY.plusHours(1);
+
+    // Monday 2 June 2025 starts the week the windowed tests run in
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 6, 2, 0, 0);
+    private static final LocalDateTime TUESDAY = MONDAY.plusDays(1);
+
+    @Mock
+    private GamePersonalBestRepository personalBestRepository;
+
+    @Mock
+    private GameScoreRepository gameScoreRepository;
+
+    @InjectMocks
+    private LeaderboardEngine engine;
+
+    private static GameScore score(long id, long userId, long gameId, int score, LocalDateTime timestamp) {
+        return GameScore.builder()
+                .id(id)
+                .user(User.builder().id(userId).displayName("player" + userId).build())
+                .playableGame(PlayableGame.builder().id(gameId).build())
+                .score(score)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static LeaderboardRow row(long id, long gameId, long userId, int score, LocalDateTime timestamp) {
+        return new LeaderboardRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getGameId() {
+                return gameId;
+            }
+
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getDisplayName() {
+                return "player" + userId;
+            }
+
+            @Override
+            public Integer getScore() {
+                return score;
+            }
+
+            @Override
+            public Integer getLevel() {
+                return null;
+            }
+
+            @Override
+            public LocalDateTime getTimestamp() {
+                return timestamp;
+            }
+        };
+    }
+
+    /**
+     * A clock the test moves by hand
+     */
+    private static final class TestClock extends Clock {
+        private Instant instant;
+
+        TestClock(LocalDateTime time) {
+            set(time);
+        }
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    private TestClock clockAt(LocalDateTime time) {
+        TestClock clock = new TestClock(time);
+        ReflectionTestUtils.setField(engine, "clock", clock);
+        return clock;
+    }
+
+    private List<Long> users(long gameId, LeaderboardWindow window) {
+        return engine.top(gameId, window, 100).stream().map(LeaderboardEntryDTO::getUserId).toList();
+    }
+
+    private List<Long> allTimeUsers(long gameId) {
+        return users(gameId, LeaderboardWindow.ALL_TIME);
+    }
+
+    @Test
+    void ranksByScoreThenEarliestThenFirstSaved() {
+        engine.record(score(1, 1, 7, 100, LATE));
+        engine.record(score(6, 4, 7, 100, EARLY));
+        engine.record(score(5, 2, 7, 100, EARLY));
+        engine.record(score(2, 3, 7, 50, EARLY));
+        engine.record(score(3, 9, 8, 999, EARLY));
+
+        List<LeaderboardEntryDTO> top = engine.top(7L, LeaderboardWindow.ALL_TIME, 10);
+        assertEquals(List.of(2L, 4L, 1L, 3L), top.stream().map(LeaderboardEntryDTO::getUserId).toList());
+        assertEquals(List.of(1, 2, 3, 4), top.stream().map(LeaderboardEntryDTO::getRank).toList());
+        assertEquals("player2", top.get(0).getDisplayName());
+        assertEquals(2, engine.top(7L, LeaderboardWindow.ALL_TIME, 2).size());
+
+        assertEquals(3, engine.rankOf(7L, LeaderboardWindow.ALL_TIME, 1L).orElseThrow().getRank());
+        assertTrue(engine.rankOf(7L, LeaderboardWindow.ALL_TIME, 9L).isEmpty());
+        assertEquals(List.of(4L, 1L, 3L), engine.around(7L, LeaderboardWindow.ALL_TIME, 1L, 1).stream()
+                .map(LeaderboardEntryDTO::getUserId).toList());
+        assertTrue(engine.top(99L, LeaderboardWindow.ALL_TIME, 10).isEmpty());
+    }
+
+    @Test
+    void keepsOnlyEachPlayersBestScore() {
+        engine.record(score(1, 1, 7, 100, EARLY));
+        engine.record(score(2, 2, 7, 90, EARLY));
+        // Lower and equal-but-later attempts never displace the best
+        engine.record(score(3, 1, 7, 80, LATE));
+        engine.record(score(4, 1, 7, 100, LATE));
+
+        assertEquals(List.of(1L, 2L), allTimeUsers(7));
+        assertEquals(100, engine.rankOf(7L, LeaderboardWindow.ALL_TIME, 1L).orElseThrow().getScore());
+        assertEquals(EARLY, engine.rankOf(7L, LeaderboardWindow.ALL_TIME, 1L).orElseThrow().getTimestamp());
+
+        // A better attempt replaces it, moving the player
+        engine.record(score(5, 2, 7, 120, LATE));
+        assertEquals(List.of(2L, 1L), allTimeUsers(7));
+        assertEquals(2, engine.top(7L, LeaderboardWindow.ALL_TIME, 10).size());
+    }
+
+    @Test
+    void removingTheBestPromotesTheNextBestOrDropsThePlayer() {
+        GameScore best = score(1, 1, 7, 100, EARLY);
+        GameScore other = score(2, 1, 7, 40, EARLY);
+        engine.record(best);
+        engine.record(score(3, 2, 7, 70, EARLY));
+        engine.record(score(4, 3, 7, 60, EARLY));
+
+        // Deleting an attempt that is not on the board changes nothing
+        engine.remove(other, Map.of());
+        assertEquals(List.of(1L, 2L, 3L), allTimeUsers(7));
+
+        engine.remove(best, Map.of(LeaderboardWindow.ALL_TIME, score(5, 1, 7, 65, LATE)));
+        assertEquals(List.of(2L, 1L, 3L), allTimeUsers(7));
+        assertEquals(65, engine.rankOf(7L, LeaderboardWindow.ALL_TIME, 1L).orElseThrow().getScore());
+
+        engine.remove(score(3, 2, 7, 70, EARLY), Map.of());
+        assertEquals(List.of(1L, 3L), allTimeUsers(7));
+        assertTrue(engine.rankOf(7L, LeaderboardWindow.ALL_TIME, 2L).isEmpty());
+
+        engine.dropGame(7L);
+        assertTrue(allTimeUsers(7).isEmpty());
+    }
+
+    @Test
+    void warmLoadsPersonalBestsAndFollowsDisplayNameChanges() {
+        when(personalBestRepository.streamLeaderboardRows()).thenReturn(Stream.of(
+                row(1, 7, 1, 30, EARLY), row(2, 7, 2, 50, EARLY), row(3, 8, 1, 10, EARLY)));
+        when(gameScoreRepository.streamLeaderboardRowsSince(any())).thenReturn(Stream.empty());
+
+        assertFalse(engine.isReady());
+        engine.warm();
+
+        assertTrue(engine.isReady());
+        assertEquals(List.of(2L, 1L), allTimeUsers(7));
+        assertEquals(List.of(1L), allTimeUsers(8));
+        verify(personalBestRepository).backfill();
+
+        engine.updateDisplayName(1L, "renamed");
+        assertEquals("renamed", engine.rankOf(8L, LeaderboardWindow.ALL_TIME, 1L).orElseThrow().getDisplayName());
+    }
+
+    @Test
+    void windowedBoardsOnlyCountScoresFromTheCurrentWindow() {
+        clockAt(TUESDAY.plusHours(10));
+
+        engine.record(score(1, 1, 7, 500, MONDAY.plusHours(12)));
+        engine.record(score(2, 2, 7, 300, TUESDAY.plusHours(9)));
+        engine.record(score(3, 3, 7, 900, MONDAY.minusDays(1)));
+        // An older, higher attempt holds the all-time best but not today's
+        engine.record(score(4, 2, 7, 800, MONDAY.minusDays(3)));
+
+        assertEquals(List.of(2L), users(7, LeaderboardWindow.DAILY));
+        assertEquals(300, engine.rankOf(7L, LeaderboardWindow.DAILY, 2L).orElseThrow().getScore());
+        assertEquals(List.of(1L, 2L), users(7, LeaderboardWindow.WEEKLY));
+        assertEquals(List.of(3L, 2L, 1L), allTimeUsers(7));
+        assertEquals(800, engine.rankOf(7L, LeaderboardWindow.ALL_TIME, 2L).orElseThrow().getScore());
+    }
+
+    @Test
+    void boardsRollOverAtTheWindowBoundaryAndPastWindowsAreSwept() {
+        TestClock clock = clockAt(TUESDAY.plusHours(10));
+        engine.record(score(1, 1, 7, 500, TUESDAY.plusHours(9)));
+
+        // Wednesday: a fresh daily board, the same weekly one
+        clock.set(TUESDAY.plusDays(1).plusHours(9));
+        assertTrue(users(7, LeaderboardWindow.DAILY).isEmpty());
+        assertEquals(List.of(1L), users(7, LeaderboardWindow.WEEKLY));
+        engine.record(score(2, 2, 7, 100, TUESDAY.plusDays(1).plusHours(8)));
+        assertEquals(List.of(2L), users(7, LeaderboardWindow.DAILY));
+
+        // The sweep drops Tuesday's daily board and keeps this week's
+        engine.expireWindows();
+        clock.set(TUESDAY.plusHours(11));
+        assertTrue(users(7, LeaderboardWindow.DAILY).isEmpty());
+        assertEquals(List.of(1L, 2L), users(7, LeaderboardWindow.WEEKLY));
+
+        // Next Monday both windows start over; all-time is never swept
+        clock.set(MONDAY.plusWeeks(1).plusHours(1));
+        engine.expireWindows();
+        clock.set(TUESDAY.plusDays(1).plusHours(10));
+        assertTrue(users(7, LeaderboardWindow.DAILY).isEmpty());
+        assertTrue(users(7, LeaderboardWindow.WEEKLY).isEmpty());
+        assertEquals(List.of(1L, 2L), allTimeUsers(7));
+    }
+
+    @Test
+    void removalUsesEachWindowsOwnNextBest() {
+        clockAt(TUESDAY.plusHours(10));
+        GameScore best = score(1, 1, 7, 500, TUESDAY.plusHours(9));
+        engine.record(score(2, 1, 7, 200, MONDAY.plusHours(9)));
+        engine.record(best);
+
+        engine.remove(best, Map.of(LeaderboardWindow.WEEKLY, score(2, 1, 7, 200, MONDAY.plusHours(9))));
+
+        assertTrue(users(7, LeaderboardWindow.DAILY).isEmpty());
+        assertEquals(200, engine.rankOf(7L, LeaderboardWindow.WEEKLY, 1L).orElseThrow().getScore());
+        assertTrue(users(7, LeaderboardWindow.ALL_TIME).isEmpty());
+    }
+
+    @Test
+    void warmLoadsThisWeeksAttemptsIntoTheWindowedBoards() {
+        clockAt(TUESDAY.plusHours(10));
+        when(personalBestRepository.streamLeaderboardRows()).thenReturn(Stream.of(row(9, 7, 1, 900, MONDAY.minusDays(20))));
+        when(gameScoreRepository.streamLeaderboardRowsSince(MONDAY)).thenReturn(Stream.of(
+                row(1, 7, 1, 100, MONDAY.plusHours(8)), row(2, 7, 1, 50, TUESDAY.plusHours(8)),
+                row(3, 7, 2, 70, TUESDAY.plusHours(9))));
+
+        engine.warm();
+
+        assertEquals(List.of(2L, 1L), users(7, LeaderboardWindow.DAILY));
+        assertEquals(50, engine.rankOf(7L, LeaderboardWindow.DAILY, 1L).orElseThrow().getScore());
+        assertEquals(List.of(1L, 2L), users(7, LeaderboardWindow.WEEKLY));
+        assertEquals(100, engine.rankOf(7L, LeaderboardWindow.WEEKLY, 1L).orElseThrow().getScore());
+        assertEquals(900, engine.rankOf(7L, LeaderboardWindow.ALL_TIME, 1L).orElseThrow().getScore());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.DTO.CursorPage;
+import com.example.React_spring_service.Entities.Notification;
+import com.example.React_spring_service.Repositories.NotificationCounterRepository;
+import com.example.React_spring_service.Repositories.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationCounterRepository counterRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private NotificationStreamRegistry streams;
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    private static List<Notification> notifications(long fromId, long toId) {
+        return LongStream.iterate(fromId, id -> id > toId, id -> id - 1)
+                .mapToObj(id -> Notification.builder().id(id).userId(1L).build())
+                .toList();
+    }
+
+    @Test
+    void addCountsUnreadAndKeepsTheReadFlagOutOfThePayload() {
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(call -> call.getArgument(0));
+
+        Notification unread = notificationService.add(1L, Map.of("title", "Hello", "read", false));
+        Notification read = notificationService.add(1L, Map.of("title", "Seen", "read", true));
+
+        assertFalse(unread.isRead());
+        assertEquals(Map.of("title", "Hello"), unread.getPayload());
+        assertTrue(read.isRead());
+        verify(counterRepository, times(1)).increment(1L);
+        // No transaction here, so both are published straight away
+        verify(streams).publish(unread);
+        verify(streams).publish(read);
+    }
+
+    @Test
+    void pagesContinueAfterTheLastIdOfThePreviousPage() {
+        when(notificationRepository.findInboxPage(eq(1L), eq(false), any(Pageable.class)))
+                .thenReturn(notifications(100, 89));
+        CursorPage<Notification> first = notificationService.getPage(1L, null, 10, false);
+
+        assertEquals(10, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+
+        when(notificationRepository.findInboxPageAfter(eq(1L), eq(false), eq(91L), any(Pageable.class)))
+                .thenReturn(notifications(90, 85));
+        CursorPage<Notification> second = notificationService.getPage(1L, first.getNextCursor(), 10, false);
+
+        assertEquals(5, second.getItems().size());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> notificationService.getPage(1L, "not-a-cursor", 10, false));
+        verify(notificationRepository, never()).findInboxPageAfter(anyLong(), anyBoolean(), anyLong(), any());
+    }
+
+    @Test
+    void markReadOfAnotherUsersNotificationChangesNothing() {
+        when(notificationRepository.existsByIdAndUserId(7L, 1L)).thenReturn(false);
+
+        assertFalse(notificationService.markRead(1L, 7L));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.Entities.Notification;
+import com.example.React_spring_service.Repositories.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationStreamRegistryTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    // Every event sent on any stream, as its raw text
+    private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+
+    private NotificationStreamRegistry recordingRegistry(int bufferSize, int replayLimit) {
+        return new NotificationStreamRegistry(notificationRepository, 100, 8, bufferSize, replayLimit, 60_000) {
+            @Override
+            SseEmitter newEmitter() {
+                return new SseEmitter(60_000L) {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        sent.add(builder.build().stream()
+                                .map(part -> String.valueOf(part.getData()))
+                                .collect(Collectors.joining()));
+                    }
+                };
+            }
+        };
+    }
+
+    private static Notification notification(long id) {
+        return Notification.builder().id(id).userId(1L).build();
+    }
+
+    private String nextEvent() throws InterruptedException {
+        String event = sent.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "Nothing was sent");
+        return event;
+    }
+
+    @Test
+    void subscribeFailsOnceTheRegistryIsFull() {
+        NotificationStreamRegistry registry = new NotificationStreamRegistry(notificationRepository, 3, 8, 4, 10, 60_000);
+
+        for (long userId = 1; userId <= 3; userId++) {
+            assertNotNull(registry.subscribe(userId, null));
+        }
+        assertNull(registry.subscribe(4L, null));
+
+        NotificationStreamRegistry.StreamStats stats = registry.stats();
+        assertEquals(3, stats.subscribers());
+        assertEquals(3, stats.users());
+        registry.closeAll();
+    }
+
+    @Test
+    void openingTooManyStreamsClosesTheUsersOldest() {
+        NotificationStreamRegistry registry = new NotificationStreamRegistry(notificationRepository, 100, 2, 4, 10, 60_000);
+
+        SseEmitter oldest = registry.subscribe(1L, null);
+        registry.subscribe(1L, null);
+        registry.subscribe(1L, null);
+
+        assertEquals(2, registry.stats().subscribers());
+        // The evicted stream was completed, so it can no longer send
+        assertThrows(IllegalStateException.class, () -> oldest.send("late"));
+        registry.closeAll();
+    }
+
+    @Test
+    void publishingToAUserWithoutStreamsIsANoOp() {
+        NotificationStreamRegistry registry = new NotificationStreamRegistry(notificationRepository, 100, 2, 4, 10, 60_000);
+
+        registry.publish(Notification.builder().id(1L).userId(42L).build());
+
+        assertEquals(0, registry.stats().subscribers());
+        assertEquals(0, registry.stats().dropped());
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void aSlowStreamWhoseQueueFillsIsDroppedAndUnsubscribed() throws InterruptedException {
+        CountDownLatch replaying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // The sender is stuck replaying, so nothing leaves the queue
+        when(notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(5L), any())).thenAnswer(call -> {
+            replaying.countDown();
+            release.await();
+            return List.of();
+        });
+        NotificationStreamRegistry registry = recordingRegistry(2, 10);
+        try {
+            registry.subscribe(1L, 5L);
+            assertTrue(replaying.await(5, TimeUnit.SECONDS));
+
+            registry.publish(notification(6));
+            registry.publish(notification(7));
+            assertEquals(0, registry.stats().dropped());
+            registry.publish(notification(8));
+
+            NotificationStreamRegistry.StreamStats stats = registry.stats();
+            assertEquals(1, stats.dropped());
+            assertEquals(0, stats.subscribers());
+            assertEquals(0, stats.users());
+            // Later notifications no longer reach it
+            registry.publish(notification(9));
+            assertEquals(1, registry.stats().dropped());
+        } finally {
+            release.countDown();
+            registry.closeAll();
+        }
+    }
+
+    @Test
+    void reconnectingWithinTheReplayLimitReceivesWhatWasMissed() throws InterruptedException {
+        when(notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(1L, 5L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(notification(6), notification(7)));
+        NotificationStreamRegistry registry = recordingRegistry(4, 2);
+
+        registry.subscribe(1L, 5L);
+
+        assertTrue(nextEvent().startsWith("id:6\nevent:notification\n"));
+        assertTrue(nextEvent().startsWith("id:7\nevent:notification\n"));
+        // Already replayed, so not sent twice
+        registry.publish(notification(7));
+        registry.publish(notification(8));
+        assertTrue(nextEvent().startsWith("id:8\n"));
+        registry.closeAll();
+    }
+
+    @Test
+    void reconnectingFromTooFarBackGetsAResetInsteadOfAPartialReplay() throws InterruptedException {
+        when(notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(1L, 5L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(notification(6), notification(7), notification(8)));
+        NotificationStreamRegistry registry = recordingRegistry(4, 2);
+
+        registry.subscribe(1L, 5L);
+
+        assertTrue(nextEvent().startsWith("event:reset\n"));
+        // Live notifications follow the reset
+        registry.publish(notification(9));
+        assertTrue(nextEvent().startsWith("id:9\nevent:notification\n"));
+        assertNull(sent.poll(100, TimeUnit.MILLISECONDS));
+        registry.closeAll();
+    }
+}
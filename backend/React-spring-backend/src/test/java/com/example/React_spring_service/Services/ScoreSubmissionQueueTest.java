@@ -0,0 +1,61 @@
+package com.example.React_spring_service.Services;
+
+import com.example.React_spring_service.DTO.GameScoreDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ScoreSubmissionQueueTest {
+
+    @Mock
+    private GameScoreService gameScoreService;
+
+    private static GameScoreDTO submission(long userId) {
+        return GameScoreDTO.builder().userId(userId).gameId(1L).score(100).build();
+    }
+
+    @Test
+    void offerFailsOnceTheQueueIsFull() {
+        // Not started, so nothing drains the queue
+        ScoreSubmissionQueue queue = new ScoreSubmissionQueue(gameScoreService, true, 2, 10, 50);
+
+        assertTrue(queue.offer(submission(1)));
+        assertTrue(queue.offer(submission(2)));
+        assertFalse(queue.offer(submission(3)));
+
+        ScoreSubmissionQueue.QueueStats stats = queue.stats();
+        assertEquals(2, stats.depth());
+        assertEquals(2, stats.accepted());
+        assertEquals(1, stats.rejected());
+        verifyNoInteractions(gameScoreService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flusherPersistsQueuedScoresInBatches() throws Exception {
+        when(gameScoreService.submitScores(anyList())).thenAnswer(call -> ((List<GameScoreDTO>) call.getArgument(0)).size());
+        ScoreSubmissionQueue queue = new ScoreSubmissionQueue(gameScoreService, true, 1000, 100, 20);
+        for (long userId = 0; userId < 250; userId++) {
+            assertTrue(queue.offer(submission(userId)));
+        }
+
+        queue.start();
+        queue.stop();
+
+        ScoreSubmissionQueue.QueueStats stats = queue.stats();
+        assertEquals(0, stats.depth());
+        assertEquals(250, stats.persisted());
+        assertEquals(0, stats.failed());
+        // 250 submissions at 100 per batch
+        assertTrue(stats.flushes() >= 3);
+        verify(gameScoreService, atLeast(3)).submitScores(argThat(batch -> batch.size() <= 100));
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.React_spring_service.Services;
 
+import com.example.React_spring_service.DTO.GameCardDTO;
+import com.example.React_spring_service.DTO.UserProfileDTO;
 import com.example.React_spring_service.Entities.User;
 import com.example.React_spring_service.Entities.Game;
 import com.example.React_spring_service.Repositories.GameRepository;
 import com.example.React_spring_service.Repositories.RewardRepository;
+import com.example.React_spring_service.Repositories.UserLibraryRepository;
 import com.example.React_spring_service.Repositories.UserRepository;
 import com.example.React_spring_service.Enum.UserLevel;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,12 +16,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -34,6 +38,21 @@ public class UserServiceTest {
     @Mock
     private GameRepository gameRepository;
 
+    @Mock
+    private UserLibraryRepository libraryRepository;
+
+    @Mock
+    private WishlistService wishlistService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private FriendGraphService friendGraph;
+
+    @Mock
+    private LeaderboardEngine leaderboardEngine;
+
     @InjectMocks
     private UserService userService;
 
@@ -45,8 +64,6 @@ public class UserServiceTest {
         testUser = new User();
         testUser.setId(1L);
         testUser.setDisplayName("TestUser");
-        testUser.setGamesInLibrary(new ArrayList<>());
-        testUser.setWishlist(new ArrayList<>());
 
         testGame = new Game();
         testGame.setId(100L);
@@ -78,23 +95,121 @@ public class UserServiceTest {
 
     @Test
     void addGameToLibrary_Success() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(gameRepository.findById(100L)).thenReturn(Optional.of(testGame));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(gameRepository.existsById(100L)).thenReturn(true);
+        when(libraryRepository.findGameIdsByUserId(1L)).thenReturn(List.of(100L));
 
-        userService.addGameToLibrary(1L, 100L);
+        List<Long> library = userService.addGameToLibrary(1L, 100L);
 
-        assertTrue(testUser.getGamesInLibrary().contains(100L));
+        verify(libraryRepository).add(1L, 100L);
+        assertTrue(library.contains(100L));
+    }
+
+    @Test
+    void addGameToLibrary_MissingGame() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(gameRepository.existsById(100L)).thenReturn(false);
+
+        assertThrows(RuntimeException.class, () -> userService.addGameToLibrary(1L, 100L));
+        verify(libraryRepository, never()).add(anyLong(), anyLong());
     }
 
     @Test
     void addGameToWishlist_Success() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(gameRepository.findById(100L)).thenReturn(Optional.of(testGame));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(gameRepository.existsById(100L)).thenReturn(true);
+        when(wishlistService.getGameIds(1L)).thenReturn(List.of(100L));
 
-        userService.addGameToWishlist(1L, 100L);
+        List<Long> wishlist = userService.addGameToWishlist(1L, 100L);
 
-        assertTrue(testUser.getWishlist().contains(100L));
+        verify(wishlistService).addAll(1L, List.of(100L));
+        assertTrue(wishlist.contains(100L));
+    }
+
+    private static GameCardDTO card(long id) {
+        return GameCardDTO.builder().id(id).build();
+    }
+
+    @Test
+    void getUserGamesLibraryFull_KeepsLibraryOrder() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(libraryRepository.findGameIdsByUserId(1L)).thenReturn(List.of(3L, 1L, 2L));
+        List<GameCardDTO> found = List.of(card(1L), card(2L), card(3L));
+        when(gameRepository.findCardsByIdIn(anyCollection())).thenReturn(found);
+
+        List<GameCardDTO> cards = userService.getUserGamesLibraryFull(1L);
+
+        assertEquals(List.of(3L, 1L, 2L), cards.stream().map(GameCardDTO::getId).toList());
+        verify(gameRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getUserWishlistFull_KeepsOrderAndDropsMissingGames() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(wishlistService.getGameIds(1L)).thenReturn(List.of(30L, 10L, 99L, 20L));
+        // 99 no longer exists
+        List<GameCardDTO> found = List.of(card(10L), card(20L), card(30L));
+        when(gameRepository.findCardsByIdIn(anyCollection())).thenReturn(found);
+
+        List<GameCardDTO> cards = userService.getUserWishlistFull(1L);
+
+        assertEquals(List.of(30L, 10L, 20L), cards.stream().map(GameCardDTO::getId).toList());
+        verify(gameRepository, times(1)).findCardsByIdIn(anyCollection());
+    }
+
+    @Test
+    void getUserProfile_ReadsTheProjectionOnly() {
+        UserProfileDTO profile = new UserProfileDTO(1L, "TestUser", null, UserLevel.USER, false);
+        when(userRepository.findProfileById(1L)).thenReturn(Optional.of(profile));
+
+        Optional<UserProfileDTO> result = userService.getUserProfile(1L);
+
+        assertEquals(Optional.of(profile), result);
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getUserStatistics_OneQueryWithoutLoadingTheUser() {
+        UserRepository.UserStatistics row = mock(UserRepository.UserStatistics.class);
+        when(row.getUserId()).thenReturn(1L);
+        when(row.getLevel()).thenReturn("USER");
+        when(row.getCanSell()).thenReturn(true);
+        when(row.getTotalGames()).thenReturn(12L);
+        when(row.getTotalFriends()).thenReturn(3L);
+        when(row.getUnreadNotifications()).thenReturn(5L);
+        when(userRepository.findStatisticsById(1L)).thenReturn(Optional.of(row));
+
+        Map<String, Object> stats = userService.getUserStatistics(1L);
+
+        assertEquals(12L, stats.get("totalGames"));
+        assertEquals(3L, stats.get("totalFriends"));
+        assertEquals(5L, stats.get("unreadNotifications"));
+        assertEquals(true, stats.get("canSell"));
+        verify(userRepository, times(1)).findStatisticsById(1L);
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(libraryRepository, wishlistService, notificationService);
+    }
+
+    @Test
+    void getUserStatistics_UnknownUser() {
+        when(userRepository.findStatisticsById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> userService.getUserStatistics(2L));
+    }
+
+    @Test
+    void addFriends_SplitsAddedAlreadyFriendsAndInvalidIds() {
+        // Duplicates, the user themselves and an unknown ID
+        List<Long> requested = List.of(2L, 3L, 4L, 2L, 1L, 9_999L);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.findExistingIds(List.of(2L, 3L, 4L, 1L, 9_999L))).thenReturn(List.of(1L, 2L, 3L, 4L));
+        // 2 was already a friend
+        when(friendGraph.connectAll(1L, List.of(2L, 3L, 4L))).thenReturn(List.of(3L, 4L));
+
+        Map<String, Object> result = userService.addFriends(1L, requested);
+
+        assertEquals(List.of(3L, 4L), result.get("added"));
+        assertEquals(List.of(2L), result.get("alreadyFriends"));
+        assertEquals(List.of(1L, 9_999L), result.get("invalid"));
     }
 }
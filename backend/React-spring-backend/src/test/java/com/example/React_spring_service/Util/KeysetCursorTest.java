@@ -0,0 +1,38 @@
+package com.example.React_spring_service.Util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetCursorTest {
+
+    @Test
+    void decodesWhatItEncodedIncludingNullAndUnicodeParts() {
+        LocalDateTime timestamp = LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_000_000);
+
+        String cursor = KeysetCursor.encode("RATING_DESC", null, 42L);
+        assertArrayEquals(new String[] { "RATING_DESC", "", "42" }, KeysetCursor.decode(cursor, 3));
+        assertArrayEquals(new String[] { timestamp.toString(), "7" },
+                KeysetCursor.decode(KeysetCursor.encode(timestamp, 7L), 2));
+        assertArrayEquals(new String[] { "Café ☕", "" }, KeysetCursor.decode(KeysetCursor.encode("Café ☕", ""), 2));
+        // URL-safe: no padding, '+' or '/' to escape in a query string
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void rejectsMalformedAndForeignCursors() {
+        // Not base64
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor!", 2));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("a", 2));
+        // Valid base64 but no separator
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("aGVsbG8", 2));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("", 2));
+        // Issued by another listing with a different number of key parts
+        String catalogCursor = KeysetCursor.encode("PRICE_ASC", 9.99, 3L);
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(catalogCursor, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetCursor.decode(KeysetCursor.encode(LocalDateTime.now(), 1L), 3));
+    }
+}
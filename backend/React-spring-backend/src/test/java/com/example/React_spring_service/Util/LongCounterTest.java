@@ -0,0 +1,42 @@
+package com.example.React_spring_service.Util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongCounterTest {
+
+    @Test
+    void matchesHashMapCountsAcrossGrowth() {
+        Random random = new Random(7);
+        LongCounter counter = new LongCounter(4);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(5_000) - 100;
+            counter.increment(key);
+            expected.merge(key, 1, Integer::sum);
+        }
+
+        assertEquals(expected.size(), counter.size());
+        expected.forEach((key, count) -> assertEquals(count, counter.get(key)));
+        assertEquals(0, counter.get(1_000_000));
+    }
+
+    @Test
+    void topOrdersByCountThenLowerKeyAndAppliesTheFilter() {
+        LongCounter counter = new LongCounter(8);
+        long[] keys = { 5, 3, 3, 9, 9, 9, 1, 1, 7, 7, 7 };
+        for (long key : keys) {
+            counter.increment(key);
+        }
+
+        assertArrayEquals(new long[] { 7, 9, 1 }, counter.top(3, key -> true));
+        assertArrayEquals(new long[] { 9, 1, 3, 5 }, counter.top(10, key -> key != 7));
+        assertEquals(0, counter.top(5, key -> false).length);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.React_spring_service.Util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RankedTreeTest {
+
+    @Test
+    void matchesSortedSetUnderRandomInsertsAndRemoves() {
+        Random random = new Random(42);
+        RankedTree<Integer> tree = new RankedTree<>(Comparator.reverseOrder());
+        TreeSet<Integer> expected = new TreeSet<>(Comparator.reverseOrder());
+
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), tree.remove(value));
+            } else {
+                assertEquals(expected.add(value), tree.add(value));
+            }
+        }
+
+        List<Integer> sorted = new ArrayList<>(expected);
+        assertEquals(sorted.size(), tree.size());
+        assertEquals(sorted, tree.range(0, tree.size()));
+        for (int index = 0; index < sorted.size(); index++) {
+            assertEquals(sorted.get(index), tree.get(index));
+            assertEquals(index, tree.rankOf(sorted.get(index)));
+        }
+    }
+
+    @Test
+    void rangeIsClampedAndStartsAtTheRequestedIndex() {
+        RankedTree<Integer> tree = new RankedTree<>(Comparator.naturalOrder());
+        for (int value = 0; value < 100; value++) {
+            tree.add(value);
+        }
+
+        assertEquals(List.of(45, 46, 47, 48, 49, 50), tree.range(45, 51));
+        assertEquals(List.of(0, 1, 2), tree.range(-5, 3));
+        assertEquals(List.of(97, 98, 99), tree.range(97, 150));
+        assertTrue(tree.range(120, 130).isEmpty());
+        assertEquals(100, tree.rankOf(1_000));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(100));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.React_spring_service.Util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TermTrieTest {
+
+    private static TermTrie trie(String... terms) {
+        TermTrie trie = new TermTrie();
+        for (String term : terms) {
+            trie.add(term);
+        }
+        return trie;
+    }
+
+    @Test
+    void exactPrefixesComeBackShortestFirst() {
+        TermTrie trie = trie("space", "spacecraft", "spaceship", "spade", "galaxy");
+
+        assertFalse(trie.add("space"));
+        assertEquals(5, trie.size());
+        assertTrue(trie.contains("spade"));
+        assertFalse(trie.contains("spac"));
+        assertEquals(List.of(new TermTrie.Match("space", 0), new TermTrie.Match("spaceship", 0),
+                new TermTrie.Match("spacecraft", 0)), trie.matchPrefix("spac", 0, 10));
+        assertEquals(2, trie.matchPrefix("spac", 0, 2).size());
+        assertTrue(trie.matchPrefix("zzz", 2, 10).isEmpty());
+    }
+
+    @Test
+    void toleratesTyposWithClosestMatchesFirst() {
+        TermTrie trie = trie("invaders", "invasion", "inventory", "galaxy");
+
+        // Missing letter, swapped letters, wrong letter
+        assertEquals("invaders", trie.matchPrefix("invders", 1, 10).get(0).term());
+        assertEquals(new TermTrie.Match("galaxy", 1), trie.matchPrefix("glaa", 1, 10).get(0));
+        assertEquals(List.of("galaxy"), trie.matchPrefix("galaxu", 1, 10).stream().map(TermTrie.Match::term).toList());
+
+        List<TermTrie.Match> matches = trie.matchPrefix("inva", 1, 10);
+        assertEquals(new TermTrie.Match("invaders", 0), matches.get(0));
+        assertEquals(new TermTrie.Match("invasion", 0), matches.get(1));
+        assertEquals(new TermTrie.Match("inventory", 1), matches.get(2));
+    }
+}
@@ -96,6 +96,7 @@ export async function removeGameFromWishlist(userId: number, gameId: number): Pr
 export interface UserStatistics {
   userId: number;
   displayName: string;
+  displayImage: string | null;
   level: string;
   canSell: boolean;
   totalGames: number;
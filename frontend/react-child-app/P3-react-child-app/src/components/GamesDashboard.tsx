@@ -3,6 +3,14 @@ import type { CommunityPost } from './Community/CommunityPost';
 import { useNavigate } from 'react-router-dom';
 import type { Game } from './GamePage/Game';
 
+// Storefront pages come from the keyset-paged catalog (cards only, no logs or rewards)
+const CATALOG_URL = 'http://localhost:8080/api/react/api/games/catalog';
+const CATALOG_PAGE_SIZE = 48;
+// Tag filters and text search run on the server against the whole catalog, not the pages loaded so far
+const TAG_SEARCH_URL = 'http://localhost:8080/api/react/api/games/search';
+const TEXT_SEARCH_URL = 'http://localhost:8080/api/react/api/games/search/text';
+const SEARCH_DEBOUNCE_MS = 250;
+
 // Generated with assistance from GPT-4.1
 // Reviewed and modified by Brody Roche
 const GamesDashboard = () => {
@@ -12,28 +20,93 @@ const GamesDashboard = () => {
   const [searchTerm, setSearchTerm] = useState('');
   const tags = ['All', 'Action', 'RPG', 'Strategy', 'Indie', 'Horror', 'Sci-Fi'];
   const [games, setGames] = useState<Game[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  // Tag or search results; null while browsing the catalog
+  const [results, setResults] = useState<Game[] | null>(null);
+  const [resultsCursor, setResultsCursor] = useState<string | null>(null);
+  const [featuredDescription, setFeaturedDescription] = useState<string | null>(null);
   const navigate = useNavigate();
 
-  React.useEffect(() => {
-    // 1. Fetch Games with Error Handling
-    fetch('http://localhost:8080/api/react/api/games')
+  // Highest rated first; a cursor appends the following page
+  const loadCatalogPage = React.useCallback((cursor: string | null) => {
+    const params = new URLSearchParams({ sort: 'RATING_DESC', limit: String(CATALOG_PAGE_SIZE) });
+    if (cursor) params.set('cursor', cursor);
+    fetch(`${CATALOG_URL}?${params}`)
       .then(res => {
         if (!res.ok) throw new Error(`HTTP error! status: ${res.status}`);
+        setNextCursor(res.headers.get('X-Next-Cursor'));
         return res.json();
       })
       .then(data => {
         // Ensure data is an array before setting state to avoid .reduce() crash
         if (Array.isArray(data)) {
-          setGames(data);
+          setGames(prev => (cursor ? [...prev, ...data] : data));
         } else {
           console.error("API did not return an array of games:", data);
-          setGames([]);
+          if (!cursor) setGames([]);
         }
       })
       .catch(err => {
         console.error("Failed to fetch games:", err);
-        setGames([]); // Fallback to empty array
+        if (!cursor) setGames([]); // Fallback to empty array
+      });
+  }, []);
+
+  // One page of games carrying the tag; a cursor appends the following page
+  const loadTagPage = React.useCallback((tag: string, cursor: string | null, signal?: AbortSignal) => {
+    const params = new URLSearchParams({ tags: tag, limit: String(CATALOG_PAGE_SIZE), facets: '0' });
+    if (cursor) params.set('cursor', cursor);
+    return fetch(`${TAG_SEARCH_URL}?${params}`, { signal })
+      .then(res => {
+        if (!res.ok) throw new Error(`HTTP error! status: ${res.status}`);
+        return res.json();
+      })
+      .then(data => {
+        const page: Game[] = Array.isArray(data?.games) ? data.games : [];
+        setResults(prev => (cursor && prev ? [...prev, ...page] : page));
+        setResultsCursor(data?.nextCursor ?? null);
       });
+  }, []);
+
+  // Searching clears the tag and picking a tag clears the search; typing waits for a pause,
+  // and a newer request cancels the older one
+  React.useEffect(() => {
+    const term = searchTerm.trim();
+    if (term === '' && activeTag === 'All') {
+      setResults(null);
+      setResultsCursor(null);
+      return;
+    }
+    const controller = new AbortController();
+    const timer = setTimeout(() => {
+      const request = term !== ''
+        ? fetch(`${TEXT_SEARCH_URL}?${new URLSearchParams({ q: term, limit: String(CATALOG_PAGE_SIZE) })}`,
+            { signal: controller.signal })
+            .then(res => {
+              if (!res.ok) throw new Error(`HTTP error! status: ${res.status}`);
+              return res.json();
+            })
+            .then(data => {
+              setResults(Array.isArray(data) ? data : []);
+              setResultsCursor(null);
+            })
+        : loadTagPage(activeTag, null, controller.signal);
+      request.catch(err => {
+        if (err.name === 'AbortError') return;
+        console.error('Failed to search games:', err);
+        setResults([]);
+        setResultsCursor(null);
+      });
+    }, term !== '' ? SEARCH_DEBOUNCE_MS : 0);
+    return () => {
+      clearTimeout(timer);
+      controller.abort();
+    };
+  }, [searchTerm, activeTag, loadTagPage]);
+
+  React.useEffect(() => {
+    // 1. Fetch the first catalog page
+    loadCatalogPage(null);
 
     // 2. Fetch Community Posts
     fetch('http://localhost:8080/api/react/api/community/posts')
@@ -63,7 +136,7 @@ const GamesDashboard = () => {
         }
       })
       .catch(err => console.error('Failed to fetch recent post:', err));
-  }, []);
+  }, [loadCatalogPage]);
 
   const handleWishClick = () => {
     navigate("/Wishlist");
@@ -83,25 +156,16 @@ const GamesDashboard = () => {
     }
   };
 
-  // Efficient fuzzy search function
-  const filterGames = () => {
-    let filtered: Game[] = games;
-    if (activeTag !== 'All') {
-      filtered = filtered.filter((game: Game) => Array.isArray(game.tags) && game.tags.includes(activeTag));
-    }
-    if (searchTerm.trim() !== '') {
-      const term = searchTerm.trim().toLowerCase();
-      filtered = filtered.filter((game: Game) => {
-        const titleMatch = typeof game.name === 'string' && game.name.toLowerCase().includes(term);
-        const tagsMatch = Array.isArray(game.tags) && game.tags.some((tag: string) => typeof tag === 'string' && tag.toLowerCase().includes(term));
-        return titleMatch || tagsMatch;
-      });
+  const gamesToShow = results ?? games;
+
+  const loadMore = () => {
+    if (results === null) {
+      loadCatalogPage(nextCursor);
+    } else if (resultsCursor) {
+      loadTagPage(activeTag, resultsCursor).catch(err => console.error('Failed to fetch games:', err));
     }
-    return filtered;
   };
 
-  const gamesToShow = filterGames();
-
   // Find the highest-rated game
   const featuredGame = React.useMemo(() => {
     if (!games || games.length === 0) return null;
@@ -110,6 +174,16 @@ const GamesDashboard = () => {
     }, games[0]);
   }, [games]);
 
+  // Catalog cards carry no description, so the hero fetches the featured game itself
+  React.useEffect(() => {
+    if (!featuredGame) return;
+    setFeaturedDescription(null);
+    fetch(`http://localhost:8080/api/react/api/games/${featuredGame.id}`)
+      .then(res => (res.ok ? res.json() : null))
+      .then((game: Game | null) => setFeaturedDescription(game?.description || null))
+      .catch(err => console.error('Failed to fetch featured game:', err));
+  }, [featuredGame]);
+
   return (
     <div className="min-h-screen bg-[#0a0a0a] text-white">
       {/* 1. Featured Games Carousel (Hero) */}
@@ -125,7 +199,7 @@ const GamesDashboard = () => {
           {featuredGame ? (
             <>
               <h1 className="text-6xl font-black italic uppercase tracking-tighter mb-4">{featuredGame.name}</h1>
-              <p className="text-gray-400 text-lg mb-8">{featuredGame.description || 'No description available.'}</p>
+              <p className="text-gray-400 text-lg mb-8">{featuredDescription || 'No description available.'}</p>
             </>
           ) : (
             <>
@@ -155,14 +229,20 @@ const GamesDashboard = () => {
               type="text"
               placeholder="Search games..."
               value={searchTerm}
-              onChange={e => setSearchTerm(e.target.value)}
+              onChange={e => {
+                setSearchTerm(e.target.value);
+                if (e.target.value.trim() !== '') setActiveTag('All');
+              }}
               className="w-full bg-[#151515] border border-white/5 rounded-md px-4 py-2 text-sm focus:outline-none focus:border-[#822C2C] transition-all"
             />
             <div className="mt-4 flex flex-wrap gap-2">
               {tags.map(tag => (
                 <button
                   key={tag}
-                  onClick={() => setActiveTag(tag)}
+                  onClick={() => {
+                    setActiveTag(tag);
+                    setSearchTerm('');
+                  }}
                   className={`px-3 py-1 text-[10px] font-bold uppercase border rounded-full transition-all ${activeTag === tag ? 'bg-[#822C2C] border-[#822C2C]' : 'border-white/10 hover:border-white/30 text-gray-500'
                     }`}
                 >
@@ -218,6 +298,15 @@ const GamesDashboard = () => {
                 ))
               )}
             </div>
+            {(results === null ? nextCursor : resultsCursor) && (
+              <div className="mt-6 flex justify-center">
+                <button
+                  onClick={loadMore}
+                  className="px-6 py-2 text-xs font-bold uppercase border border-white/10 hover:border-[#822C2C] rounded-sm transition-all">
+                  Load more games
+                </button>
+              </div>
+            )}
           </section>
 
           {/* Community Hub Preview */}